@@ -1,5 +1,6 @@
 package com.booker.DTO.Book;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -16,5 +17,7 @@ public record BookDetailDTO(
   List<GenreDTO> genres,
   String coverUrl,
   LocalDateTime createdAt,
-  LocalDateTime updatedAt
+  LocalDateTime updatedAt,
+  Integer reviewCount,
+  BigDecimal averageScore
 ) {}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.booker.DTO.Book;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.Parameter;
+
+import jakarta.validation.constraints.Min;
+
+public record BookFilterDTO(
+  @Parameter(description = "Filter by title fragment")
+  String title,
+
+  @Parameter(description = "Filter by author ID")
+  UUID authorId,
+
+  @Parameter(description = "Filter by genre IDs; books in any of them match")
+  List<UUID> genreIds,
+
+  @Parameter(description = "Minimum page count")
+  @Min(value = 1, message = "Minimum page count must be at least 1")
+  Integer minPageCount,
+
+  @Parameter(description = "Maximum page count")
+  @Min(value = 1, message = "Maximum page count must be at least 1")
+  Integer maxPageCount,
+
+  @Parameter(description = "Search in title and synopsis; results are ordered by relevance")
+  String search
+) {
+  public BookFilterDTO {
+    title = title != null && !title.isBlank() ? title : null;
+    search = search != null && !search.isBlank() ? search : null;
+    genreIds = genreIds != null ? List.copyOf(genreIds) : List.of();
+  }
+
+  public boolean isEmpty() {
+    return title == null && authorId == null && genreIds.isEmpty()
+      && minPageCount == null && maxPageCount == null && search == null;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.booker.DTO.Book;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record BookRatingsDTO(
+  UUID bookId,
+  Integer reviewCount,
+  BigDecimal averageScore,
+  List<Bucket> histogram,
+  LocalDateTime updatedAt
+) {
+  public record Bucket(BigDecimal score, Integer count) {}
+}
\ No newline at end of file
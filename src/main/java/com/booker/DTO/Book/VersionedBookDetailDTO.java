@@ -0,0 +1,5 @@
+package com.booker.DTO.Book;
+
+// A book detail with the version probe's value as of the same read, cached together so an
+// ETag built from the entry always describes the body cached with it
+public record VersionedBookDetailDTO(BookDetailDTO book, String version) {}
\ No newline at end of file
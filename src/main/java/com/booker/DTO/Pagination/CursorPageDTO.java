@@ -0,0 +1,10 @@
+package com.booker.DTO.Pagination;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+  List<T> content,
+  int size,
+  boolean hasNext,
+  String nextCursor
+) {}
\ No newline at end of file
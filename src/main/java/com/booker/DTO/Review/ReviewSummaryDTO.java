@@ -0,0 +1,42 @@
+package com.booker.DTO.Review;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReviewSummaryDTO(
+  UUID id,
+  BigDecimal score,
+  String headline,
+  String text,
+  Integer likeCount,
+  UserRef user,
+  BookRef book,
+  LocalDateTime createdAt,
+  LocalDateTime updatedAt
+) {
+  public record UserRef(UUID id, String username) {}
+
+  public record BookRef(UUID id, String title) {}
+
+  // Flat form for JPQL constructor expressions, which can't nest
+  public ReviewSummaryDTO(
+    UUID id,
+    BigDecimal score,
+    String headline,
+    String text,
+    Integer likeCount,
+    UUID userId,
+    String username,
+    UUID bookId,
+    String bookTitle,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+  ) {
+    this(
+      id, score, headline, text, likeCount,
+      new UserRef(userId, username), new BookRef(bookId, bookTitle),
+      createdAt, updatedAt
+    );
+  }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.booker.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.booker.config.security.TokenClaims;
+
+import static com.booker.constants.Caches.BOOK_DETAILS;
+import static com.booker.constants.Caches.REJECTED_TOKENS;
+import static com.booker.constants.Caches.TOKEN_VERSIONS;
+import static com.booker.constants.Caches.USER_DETAILS;
+import static com.booker.constants.Caches.VERIFIED_TOKENS;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+  @Bean
+  CacheManager cacheManager(
+    @Value("${cache.book-details.maximum-size}") long bookDetailsMaximumSize,
+    @Value("${cache.book-details.expire-after-write}") long bookDetailsTtl,
+    @Value("${cache.token-versions.maximum-size}") long tokenVersionsMaximumSize,
+    @Value("${cache.token-versions.expire-after-write}") long tokenVersionsTtl,
+    @Value("${cache.user-details.maximum-size}") long userDetailsMaximumSize,
+    @Value("${cache.user-details.expire-after-write}") long userDetailsTtl,
+    @Value("${cache.verified-tokens.maximum-size}") long verifiedTokensMaximumSize,
+    @Value("${cache.rejected-tokens.maximum-size}") long rejectedTokensMaximumSize,
+    @Value("${cache.rejected-tokens.expire-after-write}") long rejectedTokensTtl
+  ) {
+    CaffeineCacheManager caffeine = new CaffeineCacheManager();
+
+    caffeine.registerCustomCache(BOOK_DETAILS, Caffeine.newBuilder()
+      .maximumSize(bookDetailsMaximumSize)
+      .expireAfterWrite(Duration.ofMillis(bookDetailsTtl))
+      .recordStats()
+      .build()
+    );
+
+    // The TTL bounds how long a revocation made on another instance, or directly
+    // in the database, can go unnoticed here
+    caffeine.registerCustomCache(TOKEN_VERSIONS, Caffeine.newBuilder()
+      .maximumSize(tokenVersionsMaximumSize)
+      .expireAfterWrite(Duration.ofMillis(tokenVersionsTtl))
+      .recordStats()
+      .build()
+    );
+
+    caffeine.registerCustomCache(USER_DETAILS, Caffeine.newBuilder()
+      .maximumSize(userDetailsMaximumSize)
+      .expireAfterWrite(Duration.ofMillis(userDetailsTtl))
+      .recordStats()
+      .build()
+    );
+
+    // Each entry lives exactly as long as the token it verified
+    caffeine.registerCustomCache(VERIFIED_TOKENS, Caffeine.newBuilder()
+      .maximumSize(verifiedTokensMaximumSize)
+      .expireAfter(Expiry.creating((Object digest, Object claims) -> timeToExpiry((TokenClaims) claims)))
+      .recordStats()
+      .build()
+    );
+
+    // Short-lived and separately bounded, so a flood of garbage tokens can't evict verified ones
+    caffeine.registerCustomCache(REJECTED_TOKENS, Caffeine.newBuilder()
+      .maximumSize(rejectedTokensMaximumSize)
+      .expireAfterWrite(Duration.ofMillis(rejectedTokensTtl))
+      .recordStats()
+      .build()
+    );
+
+    // Evictions run after the surrounding transaction commits, so a concurrent
+    // read can't cache the pre-commit row again
+    return new TransactionAwareCacheManagerProxy(caffeine);
+  }
+
+  private static Duration timeToExpiry(TokenClaims claims) {
+    Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+}
\ No newline at end of file
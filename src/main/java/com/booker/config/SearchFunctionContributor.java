@@ -0,0 +1,26 @@
+package com.booker.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// Full-text operators for Criteria queries; the @@ operator keeps idx_books_search_vector usable
+public class SearchFunctionContributor implements FunctionContributor {
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+    functionContributions.getFunctionRegistry()
+      .patternDescriptorBuilder("fts_match", "(?1 @@ websearch_to_tsquery('simple', ?2))")
+      .setExactArgumentCount(2)
+      .setInvariantType(types.resolve(StandardBasicTypes.BOOLEAN))
+      .register();
+
+    functionContributions.getFunctionRegistry()
+      .patternDescriptorBuilder("fts_rank", "ts_rank_cd(?1, websearch_to_tsquery('simple', ?2))")
+      .setExactArgumentCount(2)
+      .setInvariantType(types.resolve(StandardBasicTypes.DOUBLE))
+      .register();
+  }
+}
\ No newline at end of file
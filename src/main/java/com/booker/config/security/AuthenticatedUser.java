@@ -0,0 +1,25 @@
+package com.booker.config.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.booker.models.enums.Role;
+
+// The principal of a JWT-authenticated request, detached from the users table
+public record AuthenticatedUser(UUID id, String username, Role role) {
+  public static AuthenticatedUser from(TokenClaims claims) {
+    return new AuthenticatedUser(claims.userId(), claims.username(), Role.valueOf(claims.role()));
+  }
+
+  public static AuthenticatedUser from(UserAccount user) {
+    return new AuthenticatedUser(user.id(), user.username(), user.role());
+  }
+
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return List.of(new SimpleGrantedAuthority(SecurityConstants.ROLE_PREFIX + role.name()));
+  }
+}
\ No newline at end of file
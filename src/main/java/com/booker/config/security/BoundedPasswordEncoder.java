@@ -0,0 +1,106 @@
+package com.booker.config.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.booker.exceptions.ServiceUnavailableException;
+
+// BCrypt is slow on purpose, so running it on request threads lets a burst of logins take every
+// core. Hashing and verification run on a fixed pool instead, behind a bounded queue; requests
+// past both are refused at once rather than left to pile up
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long retryAfterSeconds;
+  private final Timer encodeDuration;
+  private final Timer matchesDuration;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(
+    PasswordEncoder delegate,
+    int threads,
+    int queueCapacity,
+    long retryAfterSeconds,
+    MeterRegistry registry
+  ) {
+    this.delegate = delegate;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.executor = new ThreadPoolExecutor(
+      threads, threads,
+      0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity),
+      new CustomizableThreadFactory("password-hashing-"),
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    // executor.queued, executor.active and friends, tagged name=password_hashing
+    new ExecutorServiceMetrics(executor, "password_hashing", Tags.empty()).bindTo(registry);
+
+    this.encodeDuration = hashDuration("encode", registry);
+    this.matchesDuration = hashDuration("matches", registry);
+    this.rejected = Counter.builder("password_hashing.rejected")
+      .description("Password hashing requests refused because the pool and its queue were full")
+      .register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(encodeDuration, () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(matchesDuration, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  public void shutdown() { executor.shutdown(); }
+
+  private <T> T run(Timer duration, Supplier<T> hashing) {
+    Future<T> result;
+
+    try {
+      result = executor.submit(() -> duration.record(hashing));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Server is busy, please try again shortly", retryAfterSeconds);
+    }
+
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while hashing password", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+
+      throw new IllegalStateException("Error hashing password", e.getCause());
+    }
+  }
+
+  private static Timer hashDuration(String operation, MeterRegistry registry) {
+    return Timer.builder("password_hashing.duration")
+      .description("Time spent hashing or verifying a password, excluding time queued")
+      .tag("operation", operation)
+      .register(registry);
+  }
+}
\ No newline at end of file
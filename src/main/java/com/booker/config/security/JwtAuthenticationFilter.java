@@ -14,22 +14,25 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.booker.services.JwtService;
+import com.booker.services.UserService;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final UserService userService;
+
+  @Value("${jwt.stateless-principal}")
+  private boolean statelessPrincipal;
 
   @Override
   protected void doFilterInternal(
@@ -45,25 +48,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     try {
       final String jwt = authHeader.substring(SecurityConstants.BEARER_PREFIX_LENGTH);
-      final String username = jwtService.extractUsername(jwt);
+      final TokenClaims claims = jwtService.verify(jwt);
+      final String username = claims.username();
 
       if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        if (!jwtService.isAccessToken(jwt)) {
+        if (!claims.isAccessToken()) {
           log.warn("Invalid token type. Expected access token for authentication. User: {}", username);
           filterChain.doFilter(request, response);
 
           return;
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        AuthenticatedUser principal = statelessPrincipal && claims.isSelfContained()
+            ? authenticateFromClaims(claims)
+            : authenticateFromDatabase(claims);
 
-        if (jwtService.isTokenValid(jwt, userDetails)) {
+        if (principal != null) {
           log.debug("JWT token successfully validated for user: {}", username);
 
           UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-              userDetails,
+              principal,
               null,
-              userDetails.getAuthorities());
+              principal.getAuthorities());
 
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -71,6 +77,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } else
           log.warn("JWT token validation failed for user: {}", username);
       }
+    } catch (RejectedTokenException e) {
+      log.debug("Recently rejected JWT token for request: {} {}", request.getMethod(), request.getRequestURI());
     } catch (ExpiredJwtException e) {
       log.warn("Expired JWT token for request: {} {}", request.getMethod(), request.getRequestURI());
     } catch (SignatureException e) {
@@ -83,4 +91,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  // Lock, disable, role and credential changes bump the user's token version, revoking older tokens
+  private AuthenticatedUser authenticateFromClaims(TokenClaims claims) {
+    Integer currentVersion = userService.findTokenVersion(claims.userId());
+
+    return claims.tokenVersion().equals(currentVersion) ? AuthenticatedUser.from(claims) : null;
+  }
+
+  private AuthenticatedUser authenticateFromDatabase(TokenClaims claims) {
+    UserAccount user = userService.loadUserByUsername(claims.username());
+
+    return jwtService.isTokenValid(claims, user) ? AuthenticatedUser.from(user) : null;
+  }
 }
\ No newline at end of file
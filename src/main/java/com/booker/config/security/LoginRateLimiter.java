@@ -0,0 +1,111 @@
+package com.booker.config.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.booker.exceptions.TooManyRequestsException;
+
+// Token buckets throttling login attempts per client IP and per submitted username or email,
+// checked before any password is hashed or user read
+@Component
+public class LoginRateLimiter {
+  private final Limiter byIp;
+  private final Limiter byUsername;
+
+  @Autowired
+  public LoginRateLimiter(
+    MeterRegistry registry,
+    @Value("${login-throttle.ip.capacity}") long ipCapacity,
+    @Value("${login-throttle.ip.refill-period}") long ipRefillPeriod,
+    @Value("${login-throttle.username.capacity}") long usernameCapacity,
+    @Value("${login-throttle.username.refill-period}") long usernameRefillPeriod,
+    @Value("${login-throttle.maximum-size}") long maximumSize
+  ) {
+    this(
+      registry, Ticker.systemTicker(),
+      ipCapacity, ipRefillPeriod, usernameCapacity, usernameRefillPeriod, maximumSize
+    );
+  }
+
+  LoginRateLimiter(
+    MeterRegistry registry,
+    Ticker ticker,
+    long ipCapacity,
+    long ipRefillPeriod,
+    long usernameCapacity,
+    long usernameRefillPeriod,
+    long maximumSize
+  ) {
+    this.byIp = new Limiter("ip", ipCapacity, ipRefillPeriod, maximumSize, ticker, registry);
+    this.byUsername = new Limiter("username", usernameCapacity, usernameRefillPeriod, maximumSize, ticker, registry);
+  }
+
+  // An attempt refused by IP takes nothing from the account's bucket, nor creates one, so a client
+  // cannot churn username buckets, and evict a throttled one, faster than its IP bucket refills
+  public void acquire(String ipAddress, String usernameOrEmail) {
+    byIp.acquire(ipAddress);
+    byUsername.acquire(usernameOrEmail.trim().toLowerCase(Locale.ROOT));
+  }
+
+  // A token bucket kept as the single instant it will be full again (GCRA): taking a token moves
+  // that instant one refill period later, and is refused once it would land more than the
+  // capacity's worth of periods ahead. One compare-and-set per attempt, no locks. A bucket left
+  // alone that long is full, so nothing is lost when it expires
+  private static final class Limiter {
+    private final long refillPeriod; // in nanoseconds
+    private final long burst; // capacity in nanoseconds of refill
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter throttled;
+
+    Limiter(String key, long capacity, long refillPeriodMillis, long maximumSize, Ticker ticker, MeterRegistry registry) {
+      this.refillPeriod = TimeUnit.MILLISECONDS.toNanos(refillPeriodMillis);
+      this.burst = capacity * refillPeriod;
+      this.ticker = ticker;
+      this.buckets = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterAccess(Duration.ofNanos(burst))
+        .ticker(ticker)
+        .build();
+      this.throttled = Counter.builder("login.throttled")
+        .description("Login attempts refused by the rate limiter")
+        .tag("key", key)
+        .register(registry);
+    }
+
+    void acquire(String key) {
+      long now = ticker.read();
+      AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+
+      while (true) {
+        long current = fullAt.get();
+        long next = Math.max(current, now) + refillPeriod;
+        long wait = next - now - burst;
+
+        if (wait > 0) {
+          throttled.increment();
+          throw new TooManyRequestsException("Too many login attempts, please try again later", toSeconds(wait));
+        }
+
+        if (fullAt.compareAndSet(current, next)) return;
+      }
+    }
+
+    private static long toSeconds(long nanos) {
+      return Math.ceilDiv(nanos, TimeUnit.SECONDS.toNanos(1));
+    }
+  }
+}
\ No newline at end of file
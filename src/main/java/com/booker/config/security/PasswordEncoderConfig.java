@@ -1,5 +1,8 @@
 package com.booker.config.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,7 +11,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEncoderConfig {
   @Bean
-  PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  PasswordEncoder passwordEncoder(
+    MeterRegistry registry,
+    @Value("${password-hashing.threads}") int threads,
+    @Value("${password-hashing.queue-capacity}") int queueCapacity,
+    @Value("${password-hashing.retry-after}") long retryAfterSeconds
+  ) {
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, retryAfterSeconds, registry);
   }
 }
\ No newline at end of file
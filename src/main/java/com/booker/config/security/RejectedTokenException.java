@@ -0,0 +1,12 @@
+package com.booker.config.security;
+
+import io.jsonwebtoken.JwtException;
+
+// A token that already failed verification recently, rejected again without being parsed
+public class RejectedTokenException extends JwtException {
+  public RejectedTokenException() { super("JWT was rejected recently"); }
+
+  // Thrown on every replay of a bad token, so skip the stack trace
+  @Override
+  public synchronized Throwable fillInStackTrace() { return this; }
+}
\ No newline at end of file
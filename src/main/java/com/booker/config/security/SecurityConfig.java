@@ -15,6 +15,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static com.booker.constants.Auth.ADMIN_ROLE;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -40,6 +42,7 @@ public class SecurityConfig {
           "/actuator/health"
         )
         .permitAll()
+        .requestMatchers("/actuator/**").hasRole(ADMIN_ROLE)
         .anyRequest().authenticated()
       )
       .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -60,6 +63,7 @@ public class SecurityConfig {
           "/actuator/health"
         )
         .permitAll()
+        .requestMatchers("/actuator/**").hasRole(ADMIN_ROLE)
         .anyRequest().authenticated()
       )
       .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
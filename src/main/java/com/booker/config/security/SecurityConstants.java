@@ -11,11 +11,11 @@ public final class SecurityConstants {
   public static final String CLAIM_TOKEN_TYPE = "type";
   public static final String CLAIM_USER_ID = "userId";
   public static final String CLAIM_ROLE = "role";
+  public static final String CLAIM_TOKEN_VERSION = "tokenVersion";
 
   // HTTP Headers
   public static final String HEADER_AUTHORIZATION = "Authorization";
   public static final String HEADER_USER_AGENT = "User-Agent";
-  public static final String HEADER_X_FORWARDED_FOR = "X-Forwarded-For";
 
   // Authentication
   public static final String BEARER_PREFIX = "Bearer ";
@@ -0,0 +1,29 @@
+package com.booker.config.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import io.jsonwebtoken.Claims;
+
+// The verified contents of a JWT, read once so callers never parse the same token twice
+public record TokenClaims(String username, UUID userId, String role, Integer tokenVersion, String type, Instant expiresAt) {
+  public static TokenClaims from(Claims claims) {
+    String userId = claims.get(SecurityConstants.CLAIM_USER_ID, String.class);
+
+    return new TokenClaims(
+      claims.getSubject(),
+      userId != null ? UUID.fromString(userId) : null,
+      claims.get(SecurityConstants.CLAIM_ROLE, String.class),
+      claims.get(SecurityConstants.CLAIM_TOKEN_VERSION, Integer.class),
+      claims.get(SecurityConstants.CLAIM_TOKEN_TYPE, String.class),
+      claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+    );
+  }
+
+  public boolean isAccessToken() { return SecurityConstants.TOKEN_TYPE_ACCESS.equals(type); }
+
+  public boolean isRefreshToken() { return SecurityConstants.TOKEN_TYPE_REFRESH.equals(type); }
+
+  // Access tokens issued before token versions existed still need a database lookup
+  public boolean isSelfContained() { return userId != null && role != null && tokenVersion != null; }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.booker.config.security;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.booker.models.User;
+import com.booker.models.enums.Role;
+
+// An immutable copy of a user row, safe to share from the user details cache; unlike the
+// entity it is detached from any session and carries no lazy associations
+public record UserAccount(
+  UUID id,
+  String name,
+  String username,
+  String email,
+  String bio,
+  String password,
+  Role role,
+  boolean enabled,
+  boolean accountNonLocked,
+  Integer tokenVersion,
+  LocalDateTime createdAt,
+  LocalDateTime updatedAt
+) implements UserDetails {
+  public static UserAccount from(User user) {
+    return new UserAccount(
+      user.getId(),
+      user.getName(),
+      user.getUsername(),
+      user.getEmail(),
+      user.getBio(),
+      user.getPassword(),
+      user.getRole(),
+      user.isEnabled(),
+      user.isAccountNonLocked(),
+      user.getTokenVersion(),
+      user.getCreatedAt(),
+      user.getUpdatedAt()
+    );
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return List.of(new SimpleGrantedAuthority(SecurityConstants.ROLE_PREFIX + role.name()));
+  }
+
+  @Override
+  public String getPassword() {
+    return password;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return accountNonLocked;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // Keeps the password hash out of logs
+  @Override
+  public String toString() {
+    return "UserAccount[id=" + id + ", username=" + username + ", role=" + role + "]";
+  }
+}
\ No newline at end of file
@@ -5,7 +5,7 @@ public final class Auth {
   public static final String ADMIN_ROLE = "ADMIN";
 
   public static final String ADMIN_AUTHORIZATION = "hasRole('" + ADMIN_ROLE + "')";
-  public static final String REVIEW_OWNER_OR_ADMIN = "@reviewService.isOwner(#id, authentication.principal.username) or " + ADMIN_AUTHORIZATION;
+  public static final String REVIEW_OWNER_OR_ADMIN = ADMIN_AUTHORIZATION + " or @reviewService.isOwner(#id, principal)";
 
   private Auth() {}
 }
\ No newline at end of file
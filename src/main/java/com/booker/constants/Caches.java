@@ -0,0 +1,11 @@
+package com.booker.constants;
+
+public final class Caches {
+  public static final String BOOK_DETAILS = "bookDetails";
+  public static final String TOKEN_VERSIONS = "tokenVersions";
+  public static final String USER_DETAILS = "userDetails";
+  public static final String VERIFIED_TOKENS = "verifiedTokens";
+  public static final String REJECTED_TOKENS = "rejectedTokens";
+
+  private Caches() {}
+}
\ No newline at end of file
@@ -17,17 +17,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.booker.DTO.Author.AuthorCreateDTO;
 import com.booker.DTO.Author.AuthorDTO;
 import com.booker.mappers.AuthorMapper;
 import com.booker.models.Author;
+import com.booker.repositories.projections.ListingVersion;
 import com.booker.services.AuthorService;
+import com.booker.utils.ConditionalRequests;
 
 import static com.booker.constants.Auth.ADMIN_ROLE;
 import static com.booker.constants.Auth.ADMIN_AUTHORIZATION;
@@ -41,26 +45,59 @@ public class AuthorController {
   private final AuthorMapper authorMapper;
 
   @GetMapping
-  @Operation(summary = "Get all authors", description = "Get paginated list of all authors (max 100 per page)")
+  @Operation(
+    summary = "Get all authors",
+    description = "Get paginated list of all authors (max 100 per page). Supports If-None-Match and If-Modified-Since"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Authors found"),
+      @ApiResponse(responseCode = "304", description = "Listing not modified", content = @Content)
+  })
   public ResponseEntity<Page<AuthorDTO>> getAllAuthors(
-      @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable) {
-    Page<Author> authors = authorService.findAll(pageable);
+      @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable,
+      WebRequest request) {
+    // The version query is the listing's count query too, so validators cost no extra query
+    ListingVersion version = authorService.findListingVersion();
+    String eTag = ConditionalRequests.weakETag(version);
+    long lastModified = ConditionalRequests.lastModified(version);
+
+    if (request.checkNotModified(eTag, lastModified))
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
+    Page<Author> authors = authorService.findAll(pageable, version.getTotal());
     Page<AuthorDTO> authorDTOs = authorMapper.toDTOPage(authors);
 
-    return ResponseEntity.ok(authorDTOs);
+    return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(authorDTOs);
+  }
+
+  @GetMapping(params = "withTotal=false")
+  @Operation(
+    summary = "Get all authors without total",
+    description = "Paginated list of all authors (max 100 per page) without the count query; use `last` to detect the end"
+  )
+  public ResponseEntity<Slice<AuthorDTO>> getAllAuthorsSlice(
+      @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable,
+      @Parameter(description = "Skip the total count") @RequestParam boolean withTotal) {
+    Slice<Author> authors = authorService.findAllSlice(pageable);
+
+    return ResponseEntity.ok(authors.map(authorMapper::toDTO));
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Get author by ID", description = "Get a specific author by its ID")
+  @Operation(summary = "Get author by ID", description = "Get a specific author by its ID. Supports If-None-Match")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Author found"),
+      @ApiResponse(responseCode = "304", description = "Author not modified", content = @Content),
       @ApiResponse(responseCode = "404", description = "Author not found")
   })
   public ResponseEntity<AuthorDTO> getAuthorById(@Parameter(description = "Author ID") @PathVariable UUID id) {
     Optional<Author> author = authorService.findById(id);
 
-    return author.map(authorMapper::toDTO)
-        .map(ResponseEntity::ok)
+    // Spring answers a matching If-None-Match with 304 once the ETag header is set
+    return author
+        .map(found -> ResponseEntity.ok()
+            .eTag(ConditionalRequests.strongETag(found.getId(), found.getUpdatedAt()))
+            .body(authorMapper.toDTO(found)))
         .orElse(ResponseEntity.notFound().build());
   }
 
@@ -18,22 +18,32 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.booker.DTO.Book.BookCreateDTO;
 import com.booker.DTO.Book.BookDTO;
 import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.BookFilterDTO;
+import com.booker.DTO.Book.BookRatingsDTO;
+import com.booker.DTO.Book.VersionedBookDetailDTO;
+import com.booker.DTO.Pagination.CursorPageDTO;
 import com.booker.DTO.Review.SimpleReviewDTO;
 import com.booker.mappers.BookMapper;
 import com.booker.mappers.ReviewMapper;
 import com.booker.models.Review;
+import com.booker.repositories.projections.ListingVersion;
 import com.booker.services.BookService;
 import com.booker.services.ReviewService;
+import com.booker.utils.ConditionalRequests;
 
 import static com.booker.constants.Auth.ADMIN_ROLE;
 import static com.booker.constants.Auth.ADMIN_AUTHORIZATION;
@@ -49,36 +59,110 @@ public class BookController {
   private final ReviewMapper reviewMapper;
 
   @GetMapping
-  @Operation(summary = "Get all books", description = "Get paginated list of all books (max 100 per page)")
+  @Operation(
+    summary = "Get all books",
+    description = "Get paginated list of all books (max 100 per page). All given filters apply together. "
+      + "Supports If-None-Match and If-Modified-Since"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Books found"),
+      @ApiResponse(responseCode = "304", description = "Listing not modified", content = @Content),
+      @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+  })
   public ResponseEntity<Page<BookDTO>> getAllBooks(
       @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable,
-      @Parameter(description = "Filter by title") @RequestParam(required = false) String title,
-      @Parameter(description = "Filter by author ID") @RequestParam(required = false) UUID authorId,
-      @Parameter(description = "Search in title and synopsis") @RequestParam(required = false) String search) {
-    Page<BookDTO> books;
-
-    if (title != null && !title.trim().isEmpty())
-      books = bookService.findByTitle(title, pageable);
-    else if (authorId != null)
-      books = bookService.findByAuthor(authorId, pageable);
-    else if (search != null && !search.trim().isEmpty())
-      books = bookService.searchBooks(search, pageable);
-    else
-      books = bookService.findAll(pageable);
-
-    return ResponseEntity.ok(books);
+      @ParameterObject @Valid BookFilterDTO filter,
+      WebRequest request) {
+    // The version query is the listing's count query too, so validators cost no extra query
+    ListingVersion version = bookService.findListingVersion(filter);
+    String eTag = ConditionalRequests.weakETag(version);
+    long lastModified = ConditionalRequests.lastModified(version);
+
+    if (request.checkNotModified(eTag, lastModified))
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
+    Page<BookDTO> books = bookService.findAll(filter, pageable, version.getTotal());
+
+    return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(books);
+  }
+
+  @GetMapping(params = { "withTotal=false", "!after" })
+  @Operation(
+    summary = "Get all books without total",
+    description = "Paginated list of all books (max 100 per page) without the count query; use `last` to detect the end"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Books found"),
+      @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+  })
+  public ResponseEntity<Slice<BookDTO>> getAllBooksSlice(
+      @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable,
+      @ParameterObject @Valid BookFilterDTO filter,
+      @Parameter(description = "Skip the total count") @RequestParam boolean withTotal) {
+    return ResponseEntity.ok(bookService.findAllSlice(filter, pageable));
+  }
+
+  @GetMapping(params = "after")
+  @Operation(
+    summary = "Get all books by cursor",
+    description = "Keyset-paginated list of books (max 100 per page), narrowed by the same filters as the paged listing. "
+      + "Pass an empty `after` for the first page, then the returned `nextCursor` with the same sort and filters. "
+      + "Page numbers are ignored, no total is computed and search results follow the sort instead of relevance"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Books found"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor, sort property or filter", content = @Content),
+  })
+  public ResponseEntity<CursorPageDTO<BookDTO>> getAllBooksByCursor(
+      @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable,
+      @ParameterObject @Valid BookFilterDTO filter,
+      @Parameter(description = "Opaque cursor from the previous page; empty for the first page") @RequestParam String after) {
+    return ResponseEntity.ok(bookService.findAllAfter(filter, after, pageable));
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Get book by ID", description = "Get a specific book by its ID")
+  @Operation(summary = "Get book by ID", description = "Get a specific book by its ID. Supports If-None-Match")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Book found"),
+      @ApiResponse(responseCode = "304", description = "Book not modified", content = @Content),
       @ApiResponse(responseCode = "404", description = "Book not found"),
   })
-  public ResponseEntity<BookDetailDTO> getBookById(@Parameter(description = "Book ID") @PathVariable UUID id) {
-    BookDetailDTO book = bookService.findById(id);
+  public ResponseEntity<BookDetailDTO> getBookById(
+      @Parameter(description = "Book ID") @PathVariable UUID id,
+      WebRequest request) {
+    // Revalidation probes the version, a single-row lookup, so unchanged books are answered without
+    // loading them; other requests take the ETag from the version cached with the book
+    String version = null;
+
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      version = bookService.findVersion(id);
+
+      String eTag = ConditionalRequests.strongETag(version);
 
-    return ResponseEntity.ok(book);
+      if (request.checkNotModified(eTag))
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    VersionedBookDetailDTO book = bookService.findVersionedById(id);
+
+    // Cached from a snapshot older than the probe, e.g. re-cached after a write's eviction
+    if (version != null && !version.equals(book.version()))
+      book = bookService.refreshVersionedById(id);
+
+    return ResponseEntity.ok().eTag(ConditionalRequests.strongETag(book.version())).body(book.book());
+  }
+
+  @GetMapping("/{id}/ratings")
+  @Operation(
+    summary = "Get book ratings",
+    description = "Review count, average score and half-point score histogram, read from the book's stored aggregates"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Ratings found"),
+      @ApiResponse(responseCode = "404", description = "Book not found"),
+  })
+  public ResponseEntity<BookRatingsDTO> getBookRatings(@Parameter(description = "Book ID") @PathVariable UUID id) {
+    return ResponseEntity.ok(bookService.findRatings(id));
   }
 
   @PostMapping @PreAuthorize(ADMIN_AUTHORIZATION)
@@ -187,9 +271,13 @@ public class BookController {
   }
 
   @GetMapping("/{id}/reviews")
-  @Operation(summary = "Get reviews for a book", description = "Get paginated list of reviews for a specific book")
+  @Operation(
+    summary = "Get reviews for a book",
+    description = "Get paginated list of reviews for a specific book. Sort with `sort=newest` (default) or `sort=mostLiked`"
+  )
   @ApiResponses(value = {
     @ApiResponse(responseCode = "200", description = "Reviews found"),
+    @ApiResponse(responseCode = "400", description = "Unsupported sort", content = @Content),
     @ApiResponse(responseCode = "404", description = "Book not found")
   })
   public ResponseEntity<Page<SimpleReviewDTO>> getReviewsForBook(
@@ -201,4 +289,25 @@ public class BookController {
 
     return ResponseEntity.ok(result);
   }
+
+  @GetMapping(value = "/{id}/reviews", params = "withTotal=false")
+  @Operation(
+    summary = "Get reviews for a book without total",
+    description = "Paginated list of reviews for a specific book without the count query. "
+      + "Sort with `sort=newest` (default) or `sort=mostLiked`"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Reviews found"),
+    @ApiResponse(responseCode = "400", description = "Unsupported sort", content = @Content),
+    @ApiResponse(responseCode = "404", description = "Book not found")
+  })
+  public ResponseEntity<Slice<SimpleReviewDTO>> getReviewsForBookSlice(
+    @Parameter(description = "Book ID") @PathVariable UUID id,
+    @ParameterObject Pageable pageable,
+    @Parameter(description = "Skip the total count") @RequestParam boolean withTotal
+  ) {
+    Slice<Review> reviews = reviewService.findSliceByBookID(id, pageable);
+
+    return ResponseEntity.ok(reviews.map(reviewMapper::toSimpleDTO));
+  }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -50,6 +51,19 @@ public class GenreController {
     return ResponseEntity.ok(genreDTOs);
   }
 
+  @GetMapping(params = "withTotal=false")
+  @Operation(
+    summary = "Get all genres without total",
+    description = "Paginated list of all genres (max 100 per page) without the count query; use `last` to detect the end"
+  )
+  public ResponseEntity<Slice<GenreDTO>> getAllGenresSlice(
+      @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable,
+      @Parameter(description = "Skip the total count") @RequestParam boolean withTotal) {
+    Slice<Genre> genres = genreService.findAllSlice(pageable);
+
+    return ResponseEntity.ok(genres.map(genreMapper::toDTO));
+  }
+
   @GetMapping("/{id}")
   @Operation(summary = "Get genre by ID", description = "Get a specific genre by its ID")
   @ApiResponses(value = {
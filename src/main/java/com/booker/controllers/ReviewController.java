@@ -4,6 +4,7 @@ import java.net.URI;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,16 +27,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.booker.DTO.Review.CreateReviewDTO;
 import com.booker.DTO.Review.ReviewDTO;
+import com.booker.DTO.Review.ReviewSummaryDTO;
 import com.booker.DTO.Review.UpdateReviewDTO;
+import com.booker.config.security.AuthenticatedUser;
 import com.booker.mappers.ReviewMapper;
 import com.booker.models.Review;
-import com.booker.models.User;
 import com.booker.services.ReviewService;
 
 import static com.booker.constants.Auth.ADMIN_AUTHORIZATION;
@@ -49,16 +54,59 @@ public class ReviewController {
   private final ReviewMapper mapper;
 
   @GetMapping @PreAuthorize(ADMIN_AUTHORIZATION)
-  @Operation(summary = "Get all reviews - " + ADMIN_ROLE, description = "Get paginated list of all reviews")
+  @Operation(
+    summary = "Get all reviews - " + ADMIN_ROLE,
+    description = "Get paginated list of all reviews with the book's id and title. Use `expand=book` to embed full books"
+  )
   @ApiResponses(@ApiResponse(responseCode = "200", description = "Review list successfully retrieved"))
-  public ResponseEntity<Page<ReviewDTO>> getAll(
+  public ResponseEntity<Page<ReviewSummaryDTO>> getAll(
     @ParameterObject @PageableDefault(size = 10)
     Pageable pageable
   ) {
-    Page<Review> reviews = service.findAll(pageable);
-    Page<ReviewDTO> result = reviews.map(mapper::toDTO);
+    return ResponseEntity.ok(service.findAll(pageable));
+  }
 
-    return ResponseEntity.ok(result);
+  @GetMapping(params = "withTotal=false") @PreAuthorize(ADMIN_AUTHORIZATION)
+  @Operation(
+    summary = "Get all reviews without total - " + ADMIN_ROLE,
+    description = "Paginated list of all reviews without the count query"
+  )
+  @ApiResponses(@ApiResponse(responseCode = "200", description = "Review list successfully retrieved"))
+  public ResponseEntity<Slice<ReviewSummaryDTO>> getAllSlice(
+    @ParameterObject @PageableDefault(size = 10)
+    Pageable pageable,
+    @Parameter(description = "Skip the total count") @RequestParam boolean withTotal
+  ) {
+    return ResponseEntity.ok(service.findAllSlice(pageable));
+  }
+
+  @GetMapping(params = "expand=book") @PreAuthorize(ADMIN_AUTHORIZATION)
+  @Operation(
+    summary = "Get all reviews with books - " + ADMIN_ROLE,
+    description = "Paginated list of all reviews, each embedding its full book"
+  )
+  @ApiResponses(@ApiResponse(responseCode = "200", description = "Review list successfully retrieved"))
+  public ResponseEntity<Page<ReviewDTO>> getAllWithBooks(
+    @ParameterObject @PageableDefault(size = 10)
+    Pageable pageable,
+    @Parameter(description = "Embed the full book") @RequestParam String expand
+  ) {
+    return ResponseEntity.ok(service.findAllWithBooks(pageable));
+  }
+
+  @GetMapping(params = { "withTotal=false", "expand=book" }) @PreAuthorize(ADMIN_AUTHORIZATION)
+  @Operation(
+    summary = "Get all reviews with books without total - " + ADMIN_ROLE,
+    description = "Paginated list of all reviews, each embedding its full book, without the count query"
+  )
+  @ApiResponses(@ApiResponse(responseCode = "200", description = "Review list successfully retrieved"))
+  public ResponseEntity<Slice<ReviewDTO>> getAllWithBooksSlice(
+    @ParameterObject @PageableDefault(size = 10)
+    Pageable pageable,
+    @Parameter(description = "Skip the total count") @RequestParam boolean withTotal,
+    @Parameter(description = "Embed the full book") @RequestParam String expand
+  ) {
+    return ResponseEntity.ok(service.findAllWithBooksSlice(pageable));
   }
 
   @GetMapping("/{id}")
@@ -82,10 +130,10 @@ public class ReviewController {
     @ApiResponse(responseCode = "409", description = "User already reviewed this book", content = @Content)
   })
   public ResponseEntity<ReviewDTO> create(
-    @AuthenticationPrincipal User currentUser,
+    @AuthenticationPrincipal AuthenticatedUser currentUser,
     @Valid @RequestBody CreateReviewDTO data
   ) {
-    Review review = service.create(data, currentUser);
+    Review review = service.create(data, currentUser.id());
     ReviewDTO result = mapper.toDTO(review);
     URI uri = URI.create("/reviews/" + review.getId());
 
@@ -121,4 +169,34 @@ public class ReviewController {
 
     return ResponseEntity.noContent().build();
   }
+
+  @PutMapping("/{id}/like")
+  @Operation(
+    summary = "Like review",
+    description = "Like a review as the authenticated user. Idempotent; likeCount catches up within a few seconds"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "204", description = "Review liked"),
+    @ApiResponse(responseCode = "404", description = "Review not found", content = @Content)
+  })
+  public ResponseEntity<Void> like(@AuthenticationPrincipal AuthenticatedUser currentUser, @PathVariable UUID id) {
+    service.like(id, currentUser.id());
+
+    return ResponseEntity.noContent().build();
+  }
+
+  @DeleteMapping("/{id}/like")
+  @Operation(
+    summary = "Unlike review",
+    description = "Remove the authenticated user's like from a review. Idempotent; likeCount catches up within a few seconds"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "204", description = "Review unliked"),
+    @ApiResponse(responseCode = "404", description = "Review not found", content = @Content)
+  })
+  public ResponseEntity<Void> unlike(@AuthenticationPrincipal AuthenticatedUser currentUser, @PathVariable UUID id) {
+    service.unlike(id, currentUser.id());
+
+    return ResponseEntity.noContent().build();
+  }
 }
\ No newline at end of file
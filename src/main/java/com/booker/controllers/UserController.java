@@ -8,6 +8,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,6 +17,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.booker.DTO.User.CreateUserDTO;
@@ -59,6 +62,22 @@ public class UserController {
     return ResponseEntity.ok(users.map(userMapper::toDTO));
   }
 
+  @GetMapping(params = "withTotal=false") @PreAuthorize(ADMIN_AUTHORIZATION)
+  @Operation(
+    summary = "Get all users without total - " + ADMIN_ROLE,
+    description = "Paginated list of all users (max 100 per page) without the count query"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "User list successfully retrieved")
+  })
+  public ResponseEntity<Slice<UserDTO>> getAllSlice(
+      @ParameterObject @PageableDefault(size = 10, sort = "createdAt") Pageable pageable,
+      @Parameter(description = "Skip the total count") @RequestParam boolean withTotal) {
+    Slice<User> users = service.findAllSlice(pageable);
+
+    return ResponseEntity.ok(users.map(userMapper::toDTO));
+  }
+
   @GetMapping("/{id}")
   @Operation(summary = "Get user by ID", description = "Get a specific user by its ID")
   @ApiResponses(value = {
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -138,6 +139,36 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(status).body(error);
   }
 
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+    HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+    ErrorResponse error = new ErrorResponse(
+      status.value(),
+      ex.getMessage(),
+      LocalDateTime.now()
+    );
+
+    return ResponseEntity.status(status)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+      .body(error);
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+    HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+    ErrorResponse error = new ErrorResponse(
+      status.value(),
+      ex.getMessage(),
+      LocalDateTime.now()
+    );
+
+    return ResponseEntity.status(status)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+      .body(error);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleException(Exception ex) {
     log.error("Unexpected error occurred", ex);
@@ -0,0 +1,14 @@
+package com.booker.exceptions;
+
+import lombok.Getter;
+
+// The request was refused to protect the service; the client may retry after the given delay
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public ServiceUnavailableException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.booker.exceptions;
+
+import lombok.Getter;
+
+// The client went over a rate limit; it may retry after the given delay
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.booker.jobs;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.booker.services.BookService;
+
+// Rating aggregates are maintained by deltas; anything writing reviews around ReviewService
+// (manual SQL, a failed deploy) makes them drift, and this job finds and rebuilds those books
+@Slf4j
+@Component @RequiredArgsConstructor
+public class RatingsReconciliationJob {
+  private final BookService bookService;
+
+  @Scheduled(cron = "${ratings.reconciliation.cron}")
+  public void reconcile() {
+    List<UUID> drifted = bookService.reconcileRatings();
+
+    if (!drifted.isEmpty())
+      log.warn("Rebuilt drifted rating aggregates of {} books: {}", drifted.size(), drifted);
+  }
+}
\ No newline at end of file
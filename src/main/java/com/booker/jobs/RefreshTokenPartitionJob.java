@@ -0,0 +1,78 @@
+package com.booker.jobs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.booker.services.AuthenticationService;
+
+// refresh_tokens is partitioned by day of expiry. This job keeps partitions ready ahead of the
+// tokens being issued, so none land in the default partition, and drops the days that have fully
+// expired. Also runs on startup, in case the service was down long enough to run out of partitions
+@Slf4j
+@Component
+public class RefreshTokenPartitionJob {
+  private final AuthenticationService authenticationService;
+  private final Counter created;
+  private final Counter dropped;
+  private final Timer duration;
+
+  @Value("${refresh-tokens.partitions.days-ahead}")
+  private int daysAhead;
+
+  public RefreshTokenPartitionJob(AuthenticationService authenticationService, MeterRegistry registry) {
+    this.authenticationService = authenticationService;
+    this.created = Counter.builder("refresh_tokens.partitions.created")
+      .description("Daily refresh token partitions created ahead of time")
+      .register(registry);
+    this.dropped = Counter.builder("refresh_tokens.partitions.dropped")
+      .description("Fully expired daily refresh token partitions dropped")
+      .register(registry);
+    this.duration = Timer.builder("refresh_tokens.partitions.duration")
+      .description("Time taken by a partition maintenance run")
+      .register(registry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${refresh-tokens.partitions.cron}")
+  public void maintain() {
+    duration.record(() -> {
+      createPartitions();
+      dropExpiredPartitions();
+    });
+  }
+
+  // Each step commits on its own; a failed drop must not hold back the partitions new tokens need
+  private void createPartitions() {
+    try {
+      int count = authenticationService.createRefreshTokenPartitions(daysAhead);
+
+      created.increment(count);
+
+      if (count > 0) log.info("Created {} refresh token partitions", count);
+    } catch (DataAccessException e) {
+      log.error("Failed to create refresh token partitions: {}", e.getMessage());
+    }
+  }
+
+  private void dropExpiredPartitions() {
+    try {
+      int count = authenticationService.dropExpiredRefreshTokenPartitions();
+
+      dropped.increment(count);
+
+      if (count > 0) log.info("Dropped {} expired refresh token partitions", count);
+    } catch (DataAccessException e) {
+      log.warn("Failed to drop expired refresh token partitions: {}", e.getMessage());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.booker.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.booker.services.AuthenticationService;
+
+// Expired tokens go with their daily partition (RefreshTokenPartitionJob); revoked ones past their
+// retention are deleted here, a small batch per transaction. A run stops at max-batches and the
+// next one picks up where it left off
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob {
+  private final AuthenticationService authenticationService;
+  private final Counter purged;
+  private final Timer duration;
+
+  @Value("${refresh-tokens.purge.batch-size}")
+  private int batchSize;
+
+  @Value("${refresh-tokens.purge.max-batches}")
+  private int maxBatches;
+
+  @Value("${refresh-tokens.purge.revoked-retention}")
+  private long revokedRetention; // in milliseconds
+
+  public RefreshTokenPurgeJob(AuthenticationService authenticationService, MeterRegistry registry) {
+    this.authenticationService = authenticationService;
+    this.purged = Counter.builder("refresh_tokens.purged")
+      .description("Revoked refresh tokens deleted by the purge job")
+      .register(registry);
+    this.duration = Timer.builder("refresh_tokens.purge.duration")
+      .description("Time taken by a purge run")
+      .register(registry);
+  }
+
+  @Scheduled(cron = "${refresh-tokens.purge.cron}")
+  public void purge() {
+    long total = duration.record(this::purgeBatches);
+
+    if (total > 0) log.info("Purged {} revoked refresh tokens", total);
+  }
+
+  private long purgeBatches() {
+    Instant revokedBefore = Instant.now().minus(Duration.ofMillis(revokedRetention));
+    long total = 0;
+
+    for (int batch = 0; batch < maxBatches; batch++) {
+      int deleted = authenticationService.purgeRevokedRefreshTokens(revokedBefore, batchSize);
+
+      purged.increment(deleted);
+      total += deleted;
+
+      if (deleted < batchSize) break;
+    }
+
+    return total;
+  }
+}
\ No newline at end of file
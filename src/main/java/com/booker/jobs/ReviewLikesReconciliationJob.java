@@ -0,0 +1,28 @@
+package com.booker.jobs;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.booker.services.ReviewLikeCounter;
+
+// like_count is only recounted for reviews some instance marked as changed; marks lost when an
+// instance dies, or likes written around ReviewService, leave counts stale until this job runs
+@Slf4j
+@Component @RequiredArgsConstructor
+public class ReviewLikesReconciliationJob {
+  private final ReviewLikeCounter likeCounter;
+
+  @Scheduled(cron = "${reviews.likes.reconciliation.cron}")
+  public void reconcile() {
+    List<UUID> drifted = likeCounter.reconcile();
+
+    if (!drifted.isEmpty())
+      log.warn("Recounted drifted like counts of {} reviews: {}", drifted.size(), drifted);
+  }
+}
\ No newline at end of file
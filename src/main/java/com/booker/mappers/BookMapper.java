@@ -1,5 +1,8 @@
 package com.booker.mappers;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Component;
 import com.booker.DTO.Book.BookCreateDTO;
 import com.booker.DTO.Book.BookDTO;
 import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.BookRatingsDTO;
 import com.booker.models.Book;
 
 @Component @RequiredArgsConstructor
@@ -59,7 +63,9 @@ public class BookMapper {
       book.getGenres().stream().map(g -> g.getName()).toList(),
       book.getCoverUrl(),
       book.getCreatedAt(),
-      book.getUpdatedAt()
+      book.getUpdatedAt(),
+      reviewCount(book),
+      averageScore(book)
     );
   }
 
@@ -75,10 +81,25 @@ public class BookMapper {
       genreMapper.toDTOList(book.getGenres().stream().toList()),
       book.getCoverUrl(),
       book.getCreatedAt(),
-      book.getUpdatedAt()
+      book.getUpdatedAt(),
+      reviewCount(book),
+      averageScore(book)
     );
   }
 
+  public BookRatingsDTO toRatingsDTO(Book book) {
+    if (book == null) return null;
+
+    int[] histogram = book.getScoreHistogram() != null ? book.getScoreHistogram() : new int[0];
+    List<BookRatingsDTO.Bucket> buckets = new ArrayList<>(histogram.length);
+
+    // Bucket i holds the scores from i * 0.5 up to the next half point
+    for (int i = 0; i < histogram.length; i++)
+      buckets.add(new BookRatingsDTO.Bucket(BigDecimal.valueOf(i * 5L, 1), histogram[i]));
+
+    return new BookRatingsDTO(book.getId(), reviewCount(book), averageScore(book), buckets, book.getRatingsUpdatedAt());
+  }
+
   public List<BookDTO> toDTOList(List<Book> books) {
     return books.stream()
       .map(this::toDTO)
@@ -90,4 +111,17 @@ public class BookMapper {
       .map(this::toDetailDTO)
       .toList();
   }
+
+  private int reviewCount(Book book) {
+    return book.getReviewCount() != null ? book.getReviewCount() : 0;
+  }
+
+  // Rounds like the listing projection: two places, half up, null while unrated
+  private BigDecimal averageScore(Book book) {
+    int count = reviewCount(book);
+
+    if (count == 0 || book.getScoreSum() == null) return null;
+
+    return book.getScoreSum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.booker.mappers;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Component
+public class CursorMapper {
+  public String toCursor(Map<String, ?> keys) {
+    String payload = keys.entrySet().stream()
+      .map(key -> URLEncoder.encode(key.getKey(), UTF_8) + "=" + URLEncoder.encode(String.valueOf(key.getValue()), UTF_8))
+      .collect(Collectors.joining("&"));
+
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(UTF_8));
+  }
+
+  public Map<String, String> fromCursor(String cursor) {
+    try {
+      String payload = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+      Map<String, String> keys = new LinkedHashMap<>();
+
+      for (String pair : payload.split("&")) {
+        int separator = pair.indexOf('=');
+
+        if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+
+        keys.put(
+          URLDecoder.decode(pair.substring(0, separator), UTF_8),
+          URLDecoder.decode(pair.substring(separator + 1), UTF_8)
+        );
+      }
+
+      return keys;
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+}
\ No newline at end of file
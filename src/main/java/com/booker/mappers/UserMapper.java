@@ -1,6 +1,7 @@
 package com.booker.mappers;
 
 import com.booker.DTO.User.UserDTO;
+import com.booker.config.security.UserAccount;
 import com.booker.models.User;
 import org.springframework.stereotype.Component;
 
@@ -19,4 +20,16 @@ public class UserMapper {
       user.getUpdatedAt()
     );
   }
+
+  public UserDTO toDTO(UserAccount user) {
+    return new UserDTO(
+      user.id(),
+      user.name(),
+      user.username(),
+      user.email(),
+      user.bio(),
+      user.createdAt(),
+      user.updatedAt()
+    );
+  }
 }
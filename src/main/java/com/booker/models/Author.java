@@ -6,12 +6,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Entity @Table(name = "authors")
+@Entity @Table(name = "authors") @BatchSize(size = 100)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @JsonPropertyOrder({ "id", "name", "biography", "createdAt", "updatedAt" })
 public class Author extends BaseEntity {
@@ -1,5 +1,7 @@
 package com.booker.models;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -9,6 +11,10 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -35,7 +41,8 @@ public class Book extends BaseEntity {
   @Column(length = 2048, name = "cover_url")
   private String coverUrl;
 
-  @ManyToMany(cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+  // Initializes the genres of a whole listing page (max 100) in one query
+  @ManyToMany(cascade = { CascadeType.PERSIST, CascadeType.MERGE }) @BatchSize(size = 100)
   @JoinTable(
     name = "book_genres",
     joinColumns = @JoinColumn(name = "book_id"),
@@ -43,6 +50,19 @@ public class Book extends BaseEntity {
   )
   private Set<Genre> genres = new HashSet<>();
 
+  // Rating aggregates are written only by delta updates in BookRepository, never by entity saves
+  @Generated(event = EventType.INSERT) @Column(name = "review_count", insertable = false, updatable = false)
+  private Integer reviewCount;
+
+  @Generated(event = EventType.INSERT) @Column(name = "score_sum", insertable = false, updatable = false)
+  private BigDecimal scoreSum;
+
+  @Generated(event = EventType.INSERT) @Column(name = "score_histogram", insertable = false, updatable = false)
+  private int[] scoreHistogram;
+
+  @Column(name = "ratings_updated_at", insertable = false, updatable = false)
+  private LocalDateTime ratingsUpdatedAt;
+
   @OneToMany(
     mappedBy = "book",
     cascade = CascadeType.ALL,
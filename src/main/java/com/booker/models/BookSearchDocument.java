@@ -0,0 +1,25 @@
+package com.booker.models;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Read-only view of the generated search_vector column for Criteria queries;
+// kept off Book so loading a book never reads the tsvector
+@Entity @Immutable @Table(name = "books")
+@Getter @NoArgsConstructor
+public class BookSearchDocument {
+  @Id
+  private UUID id;
+
+  @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+  private String searchVector;
+}
\ No newline at end of file
@@ -16,8 +16,9 @@ public class RefreshToken {
   @Id @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
 
-  @Column(name = "token_hash", nullable = false, unique = true)
-  private String tokenHash;
+  // Raw SHA-256 digest of the token
+  @Column(name = "token_hash", nullable = false)
+  private byte[] tokenHash;
 
   @ManyToOne @JoinColumn(name = "user_id", nullable = false)
   private User user;
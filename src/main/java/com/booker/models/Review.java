@@ -28,7 +28,8 @@ public class Review extends BaseEntity {
   @Column(nullable = false)
   private String text;
 
-  @Column(nullable = false)
+  // Written only by ReviewLikeCounter flushes; entity updates must not overwrite them
+  @Column(nullable = false, updatable = false)
   private Integer likeCount = 0;
 
   @ManyToOne @JoinColumn(name = "user_id", nullable = false)
@@ -16,6 +16,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -50,6 +53,11 @@ public class User extends BaseEntity implements UserDetails {
   @Column(name = "account_non_locked", nullable = false)
   private Boolean accountNonLocked = true;
 
+  // Maintained by the users_token_version trigger
+  @Generated(event = { EventType.INSERT, EventType.UPDATE })
+  @Column(name = "token_version", insertable = false, updatable = false)
+  private Integer tokenVersion;
+
   @OneToMany(
     mappedBy = "user",
     cascade = CascadeType.ALL,
@@ -3,10 +3,19 @@ package com.booker.repositories;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.booker.models.Author;
+import com.booker.repositories.projections.ListingVersion;
 
 public interface AuthorRepository extends JpaRepository<Author, UUID> {
+  Slice<Author> findAllBy(Pageable pageable);
+
   Optional<Author> findByName(String name);
+
+  @Query("SELECT COUNT(a) AS total, MAX(a.updatedAt) AS lastModified FROM Author a")
+  ListingVersion findListingVersion();
 }
\ No newline at end of file
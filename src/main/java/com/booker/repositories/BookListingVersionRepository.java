@@ -0,0 +1,10 @@
+package com.booker.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.booker.models.Book;
+import com.booker.repositories.projections.ListingVersion;
+
+public interface BookListingVersionRepository {
+  ListingVersion findListingVersion(Specification<Book> spec);
+}
\ No newline at end of file
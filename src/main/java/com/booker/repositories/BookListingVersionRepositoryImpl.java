@@ -0,0 +1,75 @@
+package com.booker.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.booker.models.Author;
+import com.booker.models.Book;
+import com.booker.models.Genre;
+import com.booker.repositories.projections.ListingVersion;
+
+// Probes a filtered listing with the same Specification that pages it, so the ETag
+// covers exactly the rows the listing can return
+@RequiredArgsConstructor
+public class BookListingVersionRepositoryImpl implements BookListingVersionRepository {
+  private record Version(long total, LocalDateTime lastModified) implements ListingVersion {
+    @Override
+    public long getTotal() { return total; }
+
+    @Override
+    public LocalDateTime getLastModified() { return lastModified; }
+  }
+
+  private final EntityManager entityManager;
+
+  @Override
+  public ListingVersion findListingVersion(Specification<Book> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Book> root = query.from(Book.class);
+    Join<Book, Author> author = root.join("author");
+
+    // Genre names are part of every listed book, so any genre change counts
+    Subquery<LocalDateTime> genres = query.subquery(LocalDateTime.class);
+    Root<Genre> genre = genres.from(Genre.class);
+
+    genres.select(cb.greatest(genre.<LocalDateTime>get("updatedAt")));
+
+    query.multiselect(
+      cb.count(root),
+      cb.greatest(root.<LocalDateTime>get("updatedAt")),
+      cb.greatest(root.<LocalDateTime>get("ratingsUpdatedAt")),
+      cb.greatest(author.<LocalDateTime>get("updatedAt")),
+      genres
+    );
+
+    Predicate predicate = spec.toPredicate(root, query, cb);
+
+    if (predicate != null) query.where(predicate);
+
+    Tuple row = entityManager.createQuery(query).getSingleResult();
+
+    LocalDateTime lastModified = Stream.of(row.get(1), row.get(2), row.get(3), row.get(4))
+      .filter(Objects::nonNull)
+      .map(LocalDateTime.class::cast)
+      .max(Comparator.naturalOrder())
+      .orElse(null);
+
+    return new Version(row.get(0, Long.class), lastModified);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.booker.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.booker.DTO.Book.BookDTO;
+
+public interface BookProjectionRepository {
+  Page<BookDTO> findAllAsDTO(Pageable pageable);
+
+  Slice<BookDTO> findSliceAsDTO(Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.booker.repositories;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.booker.DTO.Book.BookDTO;
+
+// Builds BookDTO rows in SQL, skipping entity hydration and the persistence context
+@RequiredArgsConstructor
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+  private static final Map<String, String> SORT_COLUMNS = Map.of(
+    "id", "id",
+    "title", "title",
+    "pageCount", "page_count",
+    "createdAt", "created_at",
+    "updatedAt", "updated_at"
+  );
+
+  // The page is cut first so genres are aggregated only for the rows returned
+  private static final String PAGE_QUERY = """
+    SELECT b.id, b.title, b.synopsis, b.page_count, a.name AS author_name, g.names AS genres,
+      b.cover_url, b.created_at, b.updated_at, b.review_count,
+      round(b.score_sum / NULLIF(b.review_count, 0), 2) AS average_score
+    FROM (
+      SELECT id, title, synopsis, page_count, author_id, cover_url, created_at, updated_at, review_count, score_sum
+      FROM books
+      ORDER BY %1$s
+      LIMIT :limit OFFSET :offset
+    ) b
+    JOIN authors a ON a.id = b.author_id
+    LEFT JOIN LATERAL (
+      SELECT array_agg(g.name ORDER BY g.name) AS names
+      FROM book_genres bg
+      JOIN genres g ON g.id = bg.genre_id
+      WHERE bg.book_id = b.id
+    ) g ON true
+    ORDER BY %1$s
+    """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public Page<BookDTO> findAllAsDTO(Pageable pageable) {
+    List<BookDTO> content = findRows(pageable, pageable.getPageSize());
+
+    return PageableExecutionUtils.getPage(
+      content,
+      pageable,
+      () -> jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM books", Long.class)
+    );
+  }
+
+  @Override
+  public Slice<BookDTO> findSliceAsDTO(Pageable pageable) {
+    // One extra row tells whether there is a next page without a count query
+    List<BookDTO> rows = findRows(pageable, pageable.getPageSize() + 1);
+    boolean hasNext = rows.size() > pageable.getPageSize();
+
+    return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+  }
+
+  private List<BookDTO> findRows(Pageable pageable, int limit) {
+    String sql = PAGE_QUERY.formatted(orderBy(pageable.getSort()));
+    MapSqlParameterSource params = new MapSqlParameterSource()
+      .addValue("limit", limit)
+      .addValue("offset", pageable.getOffset());
+
+    return jdbcTemplate.query(sql, params, (rs, rowNum) -> toDTO(rs));
+  }
+
+  private String orderBy(Sort sort) {
+    String columns = sort.stream()
+      .map(order -> {
+        String column = SORT_COLUMNS.get(order.getProperty());
+
+        if (column == null)
+          throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+
+        return column + (order.isAscending() ? " ASC" : " DESC");
+      })
+      .collect(Collectors.joining(", "));
+
+    // id keeps the order stable across pages when the sort key has duplicates
+    return columns.isEmpty() ? "id" : columns + ", id";
+  }
+
+  private BookDTO toDTO(ResultSet rs) throws SQLException {
+    Array genres = rs.getArray("genres");
+
+    return new BookDTO(
+      rs.getObject("id", UUID.class),
+      rs.getString("title"),
+      rs.getString("synopsis"),
+      rs.getInt("page_count"),
+      rs.getString("author_name"),
+      genres != null ? List.of((String[]) genres.getArray()) : List.of(),
+      rs.getString("cover_url"),
+      rs.getObject("created_at", LocalDateTime.class),
+      rs.getObject("updated_at", LocalDateTime.class),
+      rs.getInt("review_count"),
+      rs.getBigDecimal("average_score")
+    );
+  }
+}
\ No newline at end of file
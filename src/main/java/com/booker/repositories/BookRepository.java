@@ -1,30 +1,130 @@
 package com.booker.repositories;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.booker.models.Book;
 
-public interface BookRepository extends JpaRepository<Book, UUID> {
-  @Query("SELECT b FROM Book b LEFT JOIN FETCH b.genres WHERE b.id = :id")
+public interface BookRepository
+  extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book>,
+    BookProjectionRepository, BookListingVersionRepository {
+  @Query("SELECT b FROM Book b JOIN FETCH b.author LEFT JOIN FETCH b.genres WHERE b.id = :id")
   Optional<Book> findByIdWithGenres(UUID id);
 
+  // Version probe for conditional GETs: changes with the book, its ratings, its author or its genres
   @Query(
-    value = "SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.genres",
-    countQuery = "SELECT COUNT(b) FROM Book b"
+    value = """
+      SELECT md5(concat_ws('|', b.id, b.updated_at, b.ratings_updated_at, a.updated_at, (
+        SELECT string_agg(g.id || '@' || g.updated_at, ',' ORDER BY g.id)
+        FROM book_genres bg
+        JOIN genres g ON g.id = bg.genre_id
+        WHERE bg.book_id = b.id
+      )))
+      FROM books b
+      JOIN authors a ON a.id = b.author_id
+      WHERE b.id = :id
+      """,
+    nativeQuery = true
   )
-  Page<Book> findAllWithGenres(Pageable pageable);
+  Optional<String> findVersionById(@Param("id") UUID id);
 
-  Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+  // Rating deltas: the row lock taken here serializes concurrent reviews of the same book
+  // score_histogram is 1-based, so a score lands in element floor(score * 2) + 1
+  @Modifying
+  @Query(
+    value = """
+      UPDATE books
+      SET review_count = review_count + :delta,
+        score_sum = score_sum + :delta * :score,
+        score_histogram[CAST(floor(:score * 2) AS INTEGER) + 1] =
+          score_histogram[CAST(floor(:score * 2) AS INTEGER) + 1] + :delta,
+        ratings_updated_at = LOCALTIMESTAMP
+      WHERE id = :bookId
+      """,
+    nativeQuery = true
+  )
+  int updateRatings(@Param("bookId") UUID bookId, @Param("score") BigDecimal score, @Param("delta") int delta);
+
+  // Takes back the reviews of a user about to be deleted; reviews are unique per (user, book)
+  @Modifying
+  @Query(
+    value = """
+      UPDATE books
+      SET review_count = books.review_count - 1,
+        score_sum = books.score_sum - r.score,
+        score_histogram[CAST(floor(r.score * 2) AS INTEGER) + 1] =
+          books.score_histogram[CAST(floor(r.score * 2) AS INTEGER) + 1] - 1,
+        ratings_updated_at = LOCALTIMESTAMP
+      FROM reviews r
+      WHERE r.book_id = books.id AND r.user_id = :userId
+      """,
+    nativeQuery = true
+  )
+  int removeRatingsByUserId(@Param("userId") UUID userId);
 
-  Page<Book> findByAuthorId(UUID authorId, Pageable pageable);
+  // Books whose stored aggregates no longer match their reviews
+  @Query(
+    value = """
+      WITH buckets AS (
+        SELECT b.id AS book_id, i AS bucket, COUNT(r.id) AS reviews, COALESCE(SUM(r.score), 0) AS scores
+        FROM books b
+        CROSS JOIN generate_series(0, 10) i
+        LEFT JOIN reviews r ON r.book_id = b.id AND floor(r.score * 2) = i
+        GROUP BY b.id, i
+      ), ratings AS (
+        SELECT book_id,
+          SUM(reviews) AS review_count,
+          SUM(scores) AS score_sum,
+          array_agg(CAST(reviews AS INTEGER) ORDER BY bucket) AS score_histogram
+        FROM buckets
+        GROUP BY book_id
+      )
+      SELECT b.id
+      FROM books b
+      JOIN ratings r ON r.book_id = b.id
+      WHERE (b.review_count, b.score_sum, b.score_histogram) IS DISTINCT FROM
+        (r.review_count, r.score_sum, r.score_histogram)
+      ORDER BY b.id
+      """,
+    nativeQuery = true
+  )
+  List<UUID> findIdsWithRatingDrift();
+
+  // Rebuilds one book's aggregates from its reviews; callers lock the book row first
+  @Modifying
+  @Query(
+    value = """
+      UPDATE books
+      SET review_count = r.review_count,
+        score_sum = r.score_sum,
+        score_histogram = r.score_histogram,
+        ratings_updated_at = LOCALTIMESTAMP
+      FROM (
+        SELECT COALESCE(SUM(h.reviews), 0) AS review_count,
+          COALESCE(SUM(h.scores), 0) AS score_sum,
+          array_agg(CAST(COALESCE(h.reviews, 0) AS INTEGER) ORDER BY i) AS score_histogram
+        FROM generate_series(0, 10) i
+        LEFT JOIN (
+          SELECT CAST(floor(score * 2) AS INTEGER) AS bucket, COUNT(*) AS reviews, SUM(score) AS scores
+          FROM reviews
+          WHERE book_id = :id
+          GROUP BY bucket
+        ) h ON h.bucket = i
+      ) r
+      WHERE books.id = :id
+      """,
+    nativeQuery = true
+  )
+  int recomputeRatings(@Param("id") UUID id);
 
-  @Query("SELECT b FROM Book b WHERE b.title LIKE %:title% OR b.synopsis LIKE %:title%")
-  Page<Book> findByTitleOrSynopsisContaining(@Param("title") String title, Pageable pageable);
+  @Query(value = "SELECT id FROM books WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Optional<UUID> lockById(@Param("id") UUID id);
 }
\ No newline at end of file
@@ -3,10 +3,14 @@ package com.booker.repositories;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.booker.models.Genre;
 
 public interface GenreRepository extends JpaRepository<Genre, UUID> {
+  Slice<Genre> findAllBy(Pageable pageable);
+
   Optional<Genre> findByName(String name);
 }
\ No newline at end of file
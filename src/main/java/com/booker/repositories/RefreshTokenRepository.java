@@ -8,12 +8,54 @@ import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.booker.models.RefreshToken;
 import com.booker.models.User;
+import com.booker.repositories.projections.RotatedRefreshToken;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-  Optional<RefreshToken> findByTokenHash(String tokenHash);
+  // expires_at is the partition key; bounding it prunes the lookup to the token's partition. The exp claim
+  // is in whole seconds, and rows copied from before V19 carry the sub-second instant they were saved at
+  @Query(
+    value = """
+      SELECT * FROM refresh_tokens
+      WHERE token_hash = :tokenHash
+        AND expires_at >= :expiresAt AND expires_at < CAST(:expiresAt AS TIMESTAMP) + INTERVAL '1 second'
+      """,
+    nativeQuery = true
+  )
+  Optional<RefreshToken> findByTokenHashAndExpiry(
+    @Param("tokenHash") byte[] tokenHash,
+    @Param("expiresAt") Instant expiresAt
+  );
+
+  // Revokes a live token and reports who owned it, in one statement. Of concurrent rotations of the
+  // same token, the one holding the row lock wins; the rest skip it and get nothing back
+  @Query(
+    value = """
+      WITH target AS (
+        SELECT id, expires_at, user_id FROM refresh_tokens
+        WHERE token_hash = :tokenHash
+          AND expires_at >= :expiresAt AND expires_at < CAST(:expiresAt AS TIMESTAMP) + INTERVAL '1 second'
+          AND revoked = false AND expires_at > :now
+        FOR UPDATE SKIP LOCKED
+      )
+      UPDATE refresh_tokens rt
+      SET revoked = true, revoked_at = :now
+      FROM target
+      JOIN users u ON u.id = target.user_id
+      WHERE rt.id = target.id AND rt.expires_at = target.expires_at
+      RETURNING u.username AS "username", u.enabled AS "enabled", u.account_non_locked AS "accountNonLocked",
+        u.token_version AS "tokenVersion", rt.device_info AS "deviceInfo", rt.ip_address AS "ipAddress"
+      """,
+    nativeQuery = true
+  )
+  Optional<RotatedRefreshToken> rotate(
+    @Param("tokenHash") byte[] tokenHash,
+    @Param("expiresAt") Instant expiresAt,
+    @Param("now") Instant now
+  );
 
   List<RefreshToken> findByUserAndRevokedFalse(User user);
 
@@ -21,7 +63,29 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
   @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.user = :user AND rt.revoked = false")
   void revokeAllUserTokens(User user, Instant revokedAt);
 
+  // One bounded batch of the revoked token purge; rows locked by a rotation or by another node's
+  // batch are skipped, so concurrent purges never wait on each other and never delete the same row
   @Modifying
-  @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-  void deleteExpiredTokens(Instant now);
+  @Query(
+    value = """
+      DELETE FROM refresh_tokens rt
+      USING (
+        SELECT id, expires_at FROM refresh_tokens
+        WHERE revoked AND revoked_at < :revokedBefore
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+      ) target
+      WHERE rt.id = target.id AND rt.expires_at = target.expires_at
+      """,
+    nativeQuery = true
+  )
+  int deleteRevokedTokens(@Param("revokedBefore") Instant revokedBefore, @Param("batchSize") int batchSize);
+
+  // Partition maintenance lives in the database (V19); both functions serialize on an advisory
+  // lock, so nodes running them at once take turns
+  @Query(value = "SELECT create_refresh_tokens_partitions(:daysAhead)", nativeQuery = true)
+  int createPartitions(@Param("daysAhead") int daysAhead);
+
+  @Query(value = "SELECT drop_expired_refresh_tokens_partitions()", nativeQuery = true)
+  int dropExpiredPartitions();
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.booker.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReviewLikeCountRepository {
+  void recountLikes(List<UUID> reviewIds);
+
+  List<UUID> findIdsWithLikeCountDrift();
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.booker.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+// Plain JDBC statements, out of the persistence context: like_count is never written through the entity
+@RequiredArgsConstructor
+public class ReviewLikeCountRepositoryImpl implements ReviewLikeCountRepository {
+  // In id order, so recounts from several instances never deadlock
+  private static final String LOCK_QUERY = "SELECT id FROM reviews WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+  private static final String RECOUNT_QUERY = """
+    UPDATE reviews r
+    SET like_count = (SELECT COUNT(*) FROM review_likes rl WHERE rl.review_id = r.id)
+    WHERE r.id = ANY(?)
+    """;
+
+  private static final String DRIFT_QUERY = """
+    SELECT r.id FROM reviews r
+    LEFT JOIN (
+      SELECT review_id, COUNT(*) AS likes FROM review_likes GROUP BY review_id
+    ) l ON l.review_id = r.id
+    WHERE r.like_count <> COALESCE(l.likes, 0)
+    """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  // Two statements: the recount takes its snapshot only once the rows are locked, so it sees every
+  // like committed by then and can't overwrite a newer count written by a concurrent recount
+  @Override
+  @Transactional
+  public void recountLikes(List<UUID> reviewIds) {
+    UUID[] ids = reviewIds.toArray(UUID[]::new);
+
+    jdbcTemplate.getJdbcTemplate().query(
+      LOCK_QUERY,
+      ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)),
+      rs -> {}
+    );
+    jdbcTemplate.getJdbcTemplate().update(
+      RECOUNT_QUERY,
+      ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids))
+    );
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<UUID> findIdsWithLikeCountDrift() {
+    return jdbcTemplate.getJdbcTemplate().queryForList(DRIFT_QUERY, UUID.class);
+  }
+}
\ No newline at end of file
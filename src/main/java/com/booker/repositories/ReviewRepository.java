@@ -1,13 +1,82 @@
 package com.booker.repositories;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
+
+import com.booker.DTO.Review.ReviewSummaryDTO;
 import com.booker.models.Review;
 
-public interface ReviewRepository extends JpaRepository<Review, UUID> {
+public interface ReviewRepository extends JpaRepository<Review, UUID>, ReviewLikeCountRepository {
+  // Summaries carry the book's id and title only, built in SQL without loading entities
+  @Query(
+    value = """
+      SELECT new com.booker.DTO.Review.ReviewSummaryDTO(
+        r.id, r.score, r.headline, r.text, r.likeCount, u.id, u.username, b.id, b.title, r.createdAt, r.updatedAt
+      )
+      FROM Review r JOIN r.user u JOIN r.book b
+      """,
+    countQuery = "SELECT COUNT(r) FROM Review r"
+  )
+  Page<ReviewSummaryDTO> findAllSummaries(Pageable pageable);
+
+  @Query("""
+    SELECT new com.booker.DTO.Review.ReviewSummaryDTO(
+      r.id, r.score, r.headline, r.text, r.likeCount, u.id, u.username, b.id, b.title, r.createdAt, r.updatedAt
+    )
+    FROM Review r JOIN r.user u JOIN r.book b
+    """)
+  Slice<ReviewSummaryDTO> findSummarySlice(Pageable pageable);
+
+  // Full reviews with embedded books: reviewer, book and author joined, genres batched per page
+  @EntityGraph(attributePaths = { "user", "book", "book.author" })
+  Page<Review> findWithBooksBy(Pageable pageable);
+
+  @EntityGraph(attributePaths = { "user", "book", "book.author" })
+  Slice<Review> findWithBooksSliceBy(Pageable pageable);
+
+  // Reviewers are joined into the page query instead of being loaded one by one
+  @EntityGraph(attributePaths = "user")
   Page<Review> findByBookId(UUID bookID, Pageable pageable);
+
+  @EntityGraph(attributePaths = "user")
+  Slice<Review> findSliceByBookId(UUID bookID, Pageable pageable);
+
+  boolean existsByIdAndUserId(UUID id, UUID userId);
+
+  // Score changes and deletes apply rating deltas, so concurrent writers must see the committed score
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Review r WHERE r.id = :id")
+  Optional<Review> findByIdForUpdate(UUID id);
+
+  // Likes only write review_likes; like_count is recounted by ReviewLikeCounter, so hot reviews see no row updates
+  @Modifying
+  @Query(
+    value = """
+      INSERT INTO review_likes (review_id, user_id)
+      SELECT r.id, :userId FROM reviews r WHERE r.id = :reviewId
+      ON CONFLICT DO NOTHING
+      """,
+    nativeQuery = true
+  )
+  int insertLike(@Param("reviewId") UUID reviewId, @Param("userId") UUID userId);
+
+  @Modifying
+  @Query(value = "DELETE FROM review_likes WHERE review_id = :reviewId AND user_id = :userId", nativeQuery = true)
+  int deleteLike(@Param("reviewId") UUID reviewId, @Param("userId") UUID userId);
+
+  @Query(value = "SELECT review_id FROM review_likes WHERE user_id = :userId", nativeQuery = true)
+  List<UUID> findLikedReviewIds(@Param("userId") UUID userId);
 }
\ No newline at end of file
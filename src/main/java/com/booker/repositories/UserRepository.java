@@ -3,16 +3,49 @@ package com.booker.repositories;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.booker.models.User;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+  Slice<User> findAllBy(Pageable pageable);
+
   Optional<User> findByUsername(String username);
 
   Optional<User> findByEmail(String email);
 
+  // One read over both unique indexes; should a username equal another account's email, the
+  // username wins, as it did when the two were looked up in turn
+  @Query(
+    value = """
+      SELECT * FROM users
+      WHERE username = :login OR email = :login
+      ORDER BY username = :login DESC
+      LIMIT 1
+      """,
+    nativeQuery = true
+  )
+  Optional<User> findByUsernameOrEmail(String login);
+
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
+
+  @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+  Optional<Integer> findTokenVersionById(UUID id);
+
+  // Replaces the hash only if it is still the one the caller checked; users_token_version bumps the
+  // token version, revoking the access tokens issued under the old password
+  @Transactional
+  @Modifying
+  @Query("""
+    UPDATE User u SET u.password = :password, u.updatedAt = LOCAL DATETIME
+    WHERE u.id = :id AND u.password = :currentPassword
+    """)
+  int updatePassword(UUID id, String currentPassword, String password);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.booker.repositories.projections;
+
+import java.time.LocalDateTime;
+
+// Row count and newest modification of a listing, used for conditional GETs
+public interface ListingVersion {
+  long getTotal();
+
+  LocalDateTime getLastModified();
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.booker.repositories.projections;
+
+// What a rotated refresh token hands over to its replacement, with its owner's status as of the rotation
+public interface RotatedRefreshToken {
+  String getUsername();
+
+  Boolean getEnabled();
+
+  Boolean getAccountNonLocked();
+
+  Integer getTokenVersion();
+
+  String getDeviceInfo();
+
+  String getIpAddress();
+}
\ No newline at end of file
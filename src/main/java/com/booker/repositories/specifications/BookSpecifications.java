@@ -0,0 +1,144 @@
+package com.booker.repositories.specifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import com.booker.DTO.Book.BookFilterDTO;
+import com.booker.models.Book;
+import com.booker.models.BookSearchDocument;
+
+public final class BookSpecifications {
+  private BookSpecifications() {}
+
+  // Every given filter narrows the same query; absent ones add no predicate
+  public static Specification<Book> matching(BookFilterDTO filter) {
+    return Specification.allOf(
+      titleContains(filter.title()),
+      byAuthor(filter.authorId()),
+      inAnyGenre(filter.genreIds()),
+      pageCountBetween(filter.minPageCount(), filter.maxPageCount()),
+      matchingText(filter.search())
+    );
+  }
+
+  // ILIKE rather than lower() LIKE keeps the predicate servable by idx_books_title_trgm
+  public static Specification<Book> titleContains(String title) {
+    if (title == null) return Specification.unrestricted();
+
+    return (root, query, cb) -> ((HibernateCriteriaBuilder) cb)
+      .ilike(root.get("title"), "%" + EscapeCharacter.DEFAULT.escape(title) + "%", '\\');
+  }
+
+  public static Specification<Book> byAuthor(UUID authorId) {
+    if (authorId == null) return Specification.unrestricted();
+
+    return (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
+  }
+
+  // EXISTS instead of a join so a book in several of the genres is returned once
+  public static Specification<Book> inAnyGenre(List<UUID> genreIds) {
+    if (genreIds.isEmpty()) return Specification.unrestricted();
+
+    return (root, query, cb) -> {
+      Subquery<Integer> genres = query.subquery(Integer.class);
+      Root<Book> book = genres.correlate(root);
+
+      genres.select(cb.literal(1)).where(book.join("genres").get("id").in(genreIds));
+
+      return cb.exists(genres);
+    };
+  }
+
+  public static Specification<Book> pageCountBetween(Integer min, Integer max) {
+    if (min == null && max == null) return Specification.unrestricted();
+
+    return (root, query, cb) -> {
+      Path<Integer> pageCount = root.get("pageCount");
+
+      if (min == null) return cb.le(pageCount, max);
+      if (max == null) return cb.ge(pageCount, min);
+
+      return cb.between(pageCount, min, max);
+    };
+  }
+
+  // Matches on search_vector and, for entity queries, orders by rank; Spring Data only
+  // replaces that order when the caller passes a sorted Pageable
+  public static Specification<Book> matchingText(String search) {
+    if (search == null) return Specification.unrestricted();
+
+    return (root, query, cb) -> {
+      Root<BookSearchDocument> document = query.from(BookSearchDocument.class);
+      Expression<String> vector = document.get("searchVector");
+      // Bound as a parameter; cb.literal would inline the user's text into the SQL
+      Expression<String> text = ((HibernateCriteriaBuilder) cb).value(search);
+
+      if (Book.class.equals(query.getResultType())) {
+        query.orderBy(
+          cb.desc(cb.function("fts_rank", Double.class, vector, text)),
+          cb.asc(root.get("id"))
+        );
+      }
+
+      return cb.and(
+        cb.equal(document.get("id"), root.get("id")),
+        cb.isTrue(cb.function("fts_match", Boolean.class, vector, text))
+      );
+    };
+  }
+
+  // Seeks past the cursor row: (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+  // The redundant bound on the leading key becomes an index condition, so Postgres
+  // starts the scan at the cursor instead of filtering every row before it
+  public static Specification<Book> after(Sort sort, Map<String, Object> keys) {
+    return (root, query, cb) -> {
+      List<Sort.Order> orders = sort.toList();
+      List<Predicate> seek = new ArrayList<>();
+
+      for (int i = 0; i < orders.size(); i++) {
+        List<Predicate> tie = new ArrayList<>();
+
+        for (int j = 0; j < i; j++) {
+          String property = orders.get(j).getProperty();
+
+          tie.add(cb.equal(root.get(property), keys.get(property)));
+        }
+
+        tie.add(compare(cb, root, orders.get(i), keys, false));
+        seek.add(cb.and(tie.toArray(Predicate[]::new)));
+      }
+
+      return cb.and(
+        compare(cb, root, orders.getFirst(), keys, true),
+        cb.or(seek.toArray(Predicate[]::new))
+      );
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Predicate compare(
+    CriteriaBuilder cb, Root<Book> root, Sort.Order order, Map<String, Object> keys, boolean inclusive
+  ) {
+    Path<Comparable<Object>> path = root.get(order.getProperty());
+    Comparable<Object> value = (Comparable<Object>) keys.get(order.getProperty());
+
+    if (order.isAscending())
+      return inclusive ? cb.greaterThanOrEqualTo(path, value) : cb.greaterThan(path, value);
+
+    return inclusive ? cb.lessThanOrEqualTo(path, value) : cb.lessThan(path, value);
+  }
+}
\ No newline at end of file
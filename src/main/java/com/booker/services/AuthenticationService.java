@@ -4,14 +4,17 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Base64;
+import java.util.UUID;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import io.jsonwebtoken.JwtException;
+
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,14 +23,17 @@ import com.booker.DTO.Auth.AuthenticationResponseDTO;
 import com.booker.DTO.Auth.LoginRequestDTO;
 import com.booker.DTO.Auth.RefreshTokenRequestDTO;
 import com.booker.DTO.Auth.RegisterRequestDTO;
+import com.booker.config.security.LoginRateLimiter;
 import com.booker.config.security.SecurityConstants;
-import com.booker.exceptions.ResourceNotFoundException;
+import com.booker.config.security.TokenClaims;
+import com.booker.config.security.UserAccount;
 import com.booker.mappers.UserMapper;
 import com.booker.models.RefreshToken;
 import com.booker.models.User;
 import com.booker.models.enums.Role;
 import com.booker.repositories.RefreshTokenRepository;
 import com.booker.repositories.UserRepository;
+import com.booker.repositories.projections.RotatedRefreshToken;
 
 @Service
 @RequiredArgsConstructor
@@ -38,8 +44,11 @@ public class AuthenticationService {
   private final JwtService jwtService;
   private final AuthenticationManager authenticationManager;
   private final UserMapper userMapper;
+  private final UserService userService;
+  private final LoginRateLimiter loginRateLimiter;
 
-  @Transactional
+  // Not transactional, so no connection is held while the password waits on the hashing pool;
+  // the user and then its refresh token commit on their own
   public AuthenticationResponseDTO register(RegisterRequestDTO request, HttpServletRequest httpRequest) {
     if (userRepository.existsByUsername(request.username())) {
       throw new IllegalArgumentException("Username already exists");
@@ -59,7 +68,7 @@ public class AuthenticationService {
     user.setEnabled(true);
     user.setAccountNonLocked(true);
 
-    User savedUser = userRepository.save(user);
+    UserAccount savedUser = UserAccount.from(userRepository.save(user));
 
     String accessToken = jwtService.generateAccessToken(savedUser);
     String refreshToken = jwtService.generateRefreshToken(savedUser);
@@ -67,7 +76,7 @@ public class AuthenticationService {
     String deviceInfo = extractDeviceInfo(httpRequest);
     String ipAddress = extractIpAddress(httpRequest);
 
-    saveRefreshToken(savedUser, refreshToken, deviceInfo, ipAddress);
+    saveRefreshToken(savedUser.id(), refreshToken, deviceInfo, ipAddress);
 
     return new AuthenticationResponseDTO(
         accessToken,
@@ -77,16 +86,18 @@ public class AuthenticationService {
         userMapper.toDTO(savedUser));
   }
 
-  @Transactional
+  // Not transactional, so a throttled attempt never takes a connection; the one write, the
+  // refresh token, commits on its own
   public AuthenticationResponseDTO login(LoginRequestDTO request, HttpServletRequest httpRequest) {
-    authenticationManager.authenticate(
+    loginRateLimiter.acquire(extractIpAddress(httpRequest), request.usernameOrEmail());
+
+    // The principal is the user UserService loaded to check the password
+    Authentication authentication = authenticationManager.authenticate(
         new UsernamePasswordAuthenticationToken(
             request.usernameOrEmail(),
             request.password()));
 
-    User user = userRepository.findByUsername(request.usernameOrEmail())
-        .or(() -> userRepository.findByEmail(request.usernameOrEmail()))
-        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    UserAccount user = (UserAccount) authentication.getPrincipal();
 
     String accessToken = jwtService.generateAccessToken(user);
     String refreshToken = jwtService.generateRefreshToken(user);
@@ -94,7 +105,7 @@ public class AuthenticationService {
     String deviceInfo = extractDeviceInfo(httpRequest);
     String ipAddress = extractIpAddress(httpRequest);
 
-    saveRefreshToken(user, refreshToken, deviceInfo, ipAddress);
+    saveRefreshToken(user.id(), refreshToken, deviceInfo, ipAddress);
 
     return new AuthenticationResponseDTO(
         accessToken,
@@ -108,35 +119,37 @@ public class AuthenticationService {
   public AuthenticationResponseDTO refreshToken(RefreshTokenRequestDTO request) {
     String refreshTokenValue = request.refreshToken();
 
-    if (!jwtService.isRefreshToken(refreshTokenValue)) {
+    TokenClaims claims = parseRefreshToken(refreshTokenValue);
+
+    if (!claims.isRefreshToken()) {
       throw new IllegalArgumentException("Invalid token type. Expected refresh token.");
     }
 
-    String username = jwtService.extractUsername(refreshTokenValue);
-
-    if (username == null || username.isBlank()) {
+    if (claims.username() == null || claims.username().isBlank() || claims.expiresAt() == null) {
       throw new IllegalArgumentException("Invalid refresh token");
     }
 
-    String tokenHash = hashToken(refreshTokenValue);
-
-    RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
-        .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+    RotatedRefreshToken rotated = refreshTokenRepository
+        .rotate(hashToken(refreshTokenValue), claims.expiresAt(), Instant.now())
+        .orElseThrow(() -> new IllegalArgumentException("Refresh token invalid, expired or revoked"));
 
-    if (!refreshToken.isValid()) {
-      throw new IllegalArgumentException("Refresh token expired or revoked");
+    // Status comes from the users row read by the rotation, never from the cache; rolls the
+    // revocation back along with the request
+    if (!rotated.getEnabled() || !rotated.getAccountNonLocked()) {
+      throw new IllegalArgumentException("User account is disabled or locked");
     }
 
-    User user = refreshToken.getUser();
+    UserAccount user = userService.loadUserByUsername(rotated.getUsername());
+
+    // Role, status and credential changes bump token_version; a snapshot from before one is reread
+    if (!rotated.getTokenVersion().equals(user.tokenVersion())) {
+      user = UserAccount.from(userService.findById(user.id()));
+    }
 
     String newAccessToken = jwtService.generateAccessToken(user);
     String newRefreshToken = jwtService.generateRefreshToken(user);
 
-    refreshToken.setRevoked(true);
-    refreshToken.setRevokedAt(Instant.now());
-    refreshTokenRepository.save(refreshToken);
-
-    saveRefreshToken(user, newRefreshToken, refreshToken.getDeviceInfo(), refreshToken.getIpAddress());
+    saveRefreshToken(user.id(), newRefreshToken, rotated.getDeviceInfo(), rotated.getIpAddress());
 
     return new AuthenticationResponseDTO(
         newAccessToken,
@@ -151,9 +164,21 @@ public class AuthenticationService {
     if (refreshTokenValue == null || refreshTokenValue.isBlank())
       return;
 
-    String tokenHash = hashToken(refreshTokenValue);
+    TokenClaims claims;
+
+    // A token that no longer verifies cannot be refreshed either, so there is nothing to revoke
+    try {
+      claims = jwtService.parse(refreshTokenValue);
+    } catch (JwtException | IllegalArgumentException e) {
+      return;
+    }
+
+    if (claims.expiresAt() == null)
+      return;
+
+    byte[] tokenHash = hashToken(refreshTokenValue);
 
-    refreshTokenRepository.findByTokenHash(tokenHash).ifPresent(token -> {
+    refreshTokenRepository.findByTokenHashAndExpiry(tokenHash, claims.expiresAt()).ifPresent(token -> {
       token.setRevoked(true);
       token.setRevokedAt(Instant.now());
       refreshTokenRepository.save(token);
@@ -165,14 +190,31 @@ public class AuthenticationService {
     refreshTokenRepository.revokeAllUserTokens(user, Instant.now());
   }
 
-  private void saveRefreshToken(User user, String token, String deviceInfo, String ipAddress) {
-    String tokenHash = hashToken(token);
-    long expirationSeconds = jwtService.getRefreshTokenExpirationInSeconds();
-    Instant expiresAt = Instant.now().plusSeconds(expirationSeconds);
+  @Transactional
+  public int createRefreshTokenPartitions(int daysAhead) {
+    return refreshTokenRepository.createPartitions(daysAhead);
+  }
+
+  // Expired tokens go a whole day at a time, without touching live rows
+  @Transactional
+  public int dropExpiredRefreshTokenPartitions() {
+    return refreshTokenRepository.dropExpiredPartitions();
+  }
+
+  // Each batch commits on its own, keeping locks and WAL per transaction small
+  @Transactional
+  public int purgeRevokedRefreshTokens(Instant revokedBefore, int batchSize) {
+    return refreshTokenRepository.deleteRevokedTokens(revokedBefore, batchSize);
+  }
+
+  private void saveRefreshToken(UUID userId, String token, String deviceInfo, String ipAddress) {
+    byte[] tokenHash = hashToken(token);
+    // The token's own exp, so refresh and logout can name the partition from the claims alone
+    Instant expiresAt = jwtService.parse(token).expiresAt();
 
     RefreshToken refreshToken = RefreshToken.builder()
         .tokenHash(tokenHash)
-        .user(user)
+        .user(userRepository.getReferenceById(userId))
         .expiresAt(expiresAt)
         .revoked(false)
         .deviceInfo(deviceInfo)
@@ -182,12 +224,20 @@ public class AuthenticationService {
     refreshTokenRepository.save(refreshToken);
   }
 
-  private String hashToken(String token) {
+  // A refresh token that fails verification is rejected the same way as one of the wrong type
+  private TokenClaims parseRefreshToken(String token) {
+    try {
+      return jwtService.parse(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid token type. Expected refresh token.");
+    }
+  }
+
+  private byte[] hashToken(String token) {
     try {
       MessageDigest digest = MessageDigest.getInstance("SHA-256");
-      byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
 
-      return Base64.getEncoder().encodeToString(hash);
+      return digest.digest(token.getBytes(StandardCharsets.UTF_8));
     } catch (NoSuchAlgorithmException e) {
       throw new RuntimeException("Error generating token hash", e);
     }
@@ -199,13 +249,9 @@ public class AuthenticationService {
     return userAgent != null ? userAgent.substring(0, Math.min(userAgent.length(), 500)) : null;
   }
 
+  // Already resolved past trusted proxies (server.forward-headers-strategy); the left-most
+  // X-Forwarded-For entry is whatever the client sent, so it never keys the login throttle
   private String extractIpAddress(HttpServletRequest request) {
-    String xForwardedFor = request.getHeader(SecurityConstants.HEADER_X_FORWARDED_FOR);
-
-    if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      return xForwardedFor.split(",")[0].trim();
-    }
-
     return request.getRemoteAddr();
   }
 }
\ No newline at end of file
@@ -6,13 +6,19 @@ import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.booker.models.Author;
 import com.booker.repositories.AuthorRepository;
+import com.booker.repositories.projections.ListingVersion;
+
+import static com.booker.constants.Caches.BOOK_DETAILS;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +35,24 @@ public class AuthorService {
     return repository.findAll(pageable);
   }
 
+  // Sized by the total the listing version already counted, so no count query runs
+  @Transactional(readOnly = true)
+  public Page<Author> findAll(Pageable pageable, long total) {
+    Slice<Author> slice = repository.findAllBy(pageable);
+
+    return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> total);
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<Author> findAllSlice(Pageable pageable) {
+    return repository.findAllBy(pageable);
+  }
+
+  @Transactional(readOnly = true)
+  public ListingVersion findListingVersion() {
+    return repository.findListingVersion();
+  }
+
   @Transactional(readOnly = true)
   public Optional<Author> findById(UUID id) {
     return repository.findById(id);
@@ -47,6 +71,7 @@ public class AuthorService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
   public Optional<Author> update(UUID id, Author author) {
     Optional<Author> existingAuthor = repository.findById(id);
 
@@ -63,6 +88,7 @@ public class AuthorService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
   public Optional<Author> partialUpdate(UUID id, Author author) {
     Optional<Author> existingAuthor = repository.findById(id);
 
@@ -84,6 +110,7 @@ public class AuthorService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
   public boolean deleteById(UUID id) {
     if (repository.existsById(id)) {
       repository.deleteById(id);
@@ -1,43 +1,158 @@
 package com.booker.services;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import jakarta.persistence.EntityNotFoundException;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.booker.DTO.Book.BookDTO;
 import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.BookFilterDTO;
+import com.booker.DTO.Book.BookRatingsDTO;
+import com.booker.DTO.Book.VersionedBookDetailDTO;
+import com.booker.DTO.Pagination.CursorPageDTO;
 import com.booker.exceptions.CoverException;
 import com.booker.exceptions.ResourceNotFoundException;
 import com.booker.mappers.BookMapper;
+import com.booker.mappers.CursorMapper;
 import com.booker.models.Author;
 import com.booker.models.Book;
 import com.booker.models.Genre;
 import com.booker.repositories.BookRepository;
+import com.booker.repositories.projections.ListingVersion;
+import com.booker.repositories.specifications.BookSpecifications;
+
+import static com.booker.constants.Caches.BOOK_DETAILS;
 
 @Service @Transactional @RequiredArgsConstructor
 public class BookService {
+  private record CursorKey(Function<Book, Object> extractor, Function<String, Object> parser) {}
+
+  // Sort properties allowed in cursor mode, all NOT NULL columns
+  private static final Map<String, CursorKey> CURSOR_KEYS = Map.of(
+    "title", new CursorKey(Book::getTitle, value -> value),
+    "pageCount", new CursorKey(Book::getPageCount, Integer::valueOf),
+    "createdAt", new CursorKey(Book::getCreatedAt, LocalDateTime::parse),
+    "updatedAt", new CursorKey(Book::getUpdatedAt, LocalDateTime::parse),
+    "id", new CursorKey(Book::getId, UUID::fromString)
+  );
+
   private final BookRepository bookRepository;
   private final BookMapper bookMapper;
+  private final CursorMapper cursorMapper;
   private final AuthorService authorService;
   private final GenreService genreService;
   private final SupabaseStorageService storageService;
 
   @Transactional(readOnly = true)
   public Page<BookDTO> findAll(Pageable pageable) {
-    return bookRepository.findAllWithGenres(pageable).map(bookMapper::toDTO);
+    return bookRepository.findAllAsDTO(pageable);
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<BookDTO> findAllSlice(Pageable pageable) {
+    return bookRepository.findSliceAsDTO(pageable);
+  }
+
+  // Unfiltered listings keep the SQL projection; filters compose into one Specification query
+  @Transactional(readOnly = true)
+  public Page<BookDTO> findAll(BookFilterDTO filter, Pageable pageable) {
+    if (filter.isEmpty()) return findAll(pageable);
+
+    Specification<Book> spec = BookSpecifications.matching(filter);
+    Pageable filtered = filterPageable(filter, pageable);
+
+    return bookRepository.findBy(spec, query -> query.project("author").page(filtered)).map(bookMapper::toDTO);
+  }
+
+  // For a listing whose version was read first: the version counted the same rows, so the page
+  // takes its total from it rather than running its own count query
+  @Transactional(readOnly = true)
+  public Page<BookDTO> findAll(BookFilterDTO filter, Pageable pageable, long total) {
+    Slice<BookDTO> slice = findAllSlice(filter, pageable);
+
+    return PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(), () -> total);
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<BookDTO> findAllSlice(BookFilterDTO filter, Pageable pageable) {
+    if (filter.isEmpty()) return findAllSlice(pageable);
+
+    Specification<Book> spec = BookSpecifications.matching(filter);
+    Pageable filtered = filterPageable(filter, pageable);
+
+    return bookRepository.findBy(spec, query -> query.project("author").slice(filtered)).map(bookMapper::toDTO);
+  }
+
+  // The keyset sort replaces the relevance order of a search, so cursors stay stable across pages
+  @Transactional(readOnly = true)
+  public CursorPageDTO<BookDTO> findAllAfter(BookFilterDTO filter, String after, Pageable pageable) {
+    checkPageCountRange(filter);
+
+    Sort sort = keysetSort(pageable.getSort());
+    int size = pageable.getPageSize();
+
+    Specification<Book> seek = after == null || after.isBlank()
+      ? Specification.unrestricted()
+      : BookSpecifications.after(sort, decodeCursor(after, sort));
+    Specification<Book> spec = BookSpecifications.matching(filter).and(seek);
+
+    // One extra row tells whether there is a next page without a count query
+    List<Book> books = bookRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+    boolean hasNext = books.size() > size;
+    List<Book> content = hasNext ? books.subList(0, size) : books;
+
+    return new CursorPageDTO<>(
+      content.stream().map(bookMapper::toDTO).toList(),
+      size,
+      hasNext,
+      hasNext ? encodeCursor(content.getLast(), sort) : null
+    );
+  }
+
+  // The version is read from the same snapshot as the book, so the pair stays consistent. A read
+  // whose snapshot predates a write can still cache its entry after that write's after-commit
+  // eviction; plain GETs then get the old book under its old ETag until the TTL ends, unless a
+  // revalidation probes the newer version first and calls refreshVersionedById
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  @Cacheable(cacheNames = BOOK_DETAILS, key = "#id")
+  public VersionedBookDetailDTO findVersionedById(UUID id) {
+    return readVersionedById(id);
+  }
+
+  // Replaces an entry found behind the probed version
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  @CachePut(cacheNames = BOOK_DETAILS, key = "#id")
+  public VersionedBookDetailDTO refreshVersionedById(UUID id) {
+    return readVersionedById(id);
   }
 
   @Transactional(readOnly = true)
@@ -49,21 +164,60 @@ public class BookService {
   }
 
   @Transactional(readOnly = true)
-  public Page<BookDTO> findByTitle(String title, Pageable pageable) {
-    return bookRepository.findByTitleContainingIgnoreCase(title, pageable)
-        .map(bookMapper::toDTO);
+  public String findVersion(UUID id) {
+    return bookRepository.findVersionById(id)
+      .orElseThrow(() -> new ResourceNotFoundException("Book not found"))
+    ;
   }
 
   @Transactional(readOnly = true)
-  public Page<BookDTO> findByAuthor(UUID authorId, Pageable pageable) {
-    return bookRepository.findByAuthorId(authorId, pageable)
-        .map(bookMapper::toDTO);
+  public ListingVersion findListingVersion(BookFilterDTO filter) {
+    return bookRepository.findListingVersion(BookSpecifications.matching(filter));
   }
 
   @Transactional(readOnly = true)
-  public Page<BookDTO> searchBooks(String query, Pageable pageable) {
-    return bookRepository.findByTitleOrSynopsisContaining(query, pageable)
-        .map(bookMapper::toDTO);
+  public BookRatingsDTO findRatings(UUID id) {
+    return bookRepository.findById(id)
+      .map(bookMapper::toRatingsDTO)
+      .orElseThrow(() -> new ResourceNotFoundException("Book not found"))
+    ;
+  }
+
+  // Rating aggregates move by deltas in the caller's transaction, so they commit or roll back with the review
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#bookId")
+  public void addRating(UUID bookId, BigDecimal score) {
+    updateRatings(bookId, score, 1);
+  }
+
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#bookId")
+  public void removeRating(UUID bookId, BigDecimal score) {
+    updateRatings(bookId, score, -1);
+  }
+
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#bookId")
+  public void changeRating(UUID bookId, BigDecimal previous, BigDecimal current) {
+    updateRatings(bookId, previous, -1);
+    updateRatings(bookId, current, 1);
+  }
+
+  // The user's reviews go away with the user through ON DELETE CASCADE, bypassing ReviewService
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
+  public void removeRatingsByUser(UUID userId) {
+    bookRepository.removeRatingsByUserId(userId);
+  }
+
+  // Rebuilds drifted aggregates one book at a time; locking the row first means a review
+  // written concurrently either is counted here or applies its delta afterwards
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
+  public List<UUID> reconcileRatings() {
+    List<UUID> drifted = bookRepository.findIdsWithRatingDrift();
+
+    for (UUID id : drifted) {
+      if (bookRepository.lockById(id).isPresent())
+        bookRepository.recomputeRatings(id);
+    }
+
+    return drifted;
   }
 
   public BookDetailDTO save(Book book, UUID authorId, List<UUID> genreIds) {
@@ -94,6 +248,7 @@ public class BookService {
     return bookMapper.toDetailDTO(savedBook);
   }
 
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#id")
   public Optional<BookDetailDTO> update(UUID id, Book bookData, UUID authorId, List<UUID> genreIds) {
     return bookRepository.findById(id)
         .map(existingBook -> {
@@ -130,6 +285,7 @@ public class BookService {
         });
   }
 
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#id")
   public Optional<BookDetailDTO> partialUpdate(UUID id, Book bookData, UUID authorId, List<UUID> genreIds) {
     return bookRepository.findById(id)
         .map(existingBook -> {
@@ -184,6 +340,7 @@ public class BookService {
         });
   }
 
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#id")
   public Optional<BookDetailDTO> updateCover(UUID id, MultipartFile coverFile) {
     if (coverFile == null || coverFile.isEmpty()) {
       throw new IllegalArgumentException("Cover file is required");
@@ -205,6 +362,7 @@ public class BookService {
         });
   }
 
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#id")
   public boolean removeCover(UUID id) {
     return bookRepository.findById(id)
         .map(existingBook -> {
@@ -225,6 +383,7 @@ public class BookService {
         .orElse(false);
   }
 
+  @CacheEvict(cacheNames = BOOK_DETAILS, key = "#id")
   public boolean deleteById(UUID id) {
     return bookRepository.findById(id)
         .map(book -> {
@@ -248,6 +407,80 @@ public class BookService {
         .orElse(false);
   }
 
+  private void updateRatings(UUID bookId, BigDecimal score, int delta) {
+    if (bookRepository.updateRatings(bookId, score, delta) == 0)
+      throw new ResourceNotFoundException("Book not found");
+  }
+
+  private Pageable filterPageable(BookFilterDTO filter, Pageable pageable) {
+    checkPageCountRange(filter);
+
+    // Search results are ordered by relevance, so the requested sort is dropped
+    return filter.search() != null ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+  }
+
+  // Rejects inverted page-count ranges before any query runs
+  private void checkPageCountRange(BookFilterDTO filter) {
+    Integer min = filter.minPageCount();
+    Integer max = filter.maxPageCount();
+
+    if (min != null && max != null && min > max)
+      throw new IllegalArgumentException("Minimum page count must not exceed maximum page count");
+  }
+
+  private VersionedBookDetailDTO readVersionedById(UUID id) {
+    String version = findVersion(id);
+
+    return new VersionedBookDetailDTO(findById(id), version);
+  }
+
+  private Sort keysetSort(Sort requested) {
+    Sort sort = requested.isSorted() ? requested : Sort.by("title");
+
+    for (Sort.Order order : sort) {
+      if (!CURSOR_KEYS.containsKey(order.getProperty()))
+        throw new IllegalArgumentException("Cursor pagination cannot sort by: " + order.getProperty());
+    }
+
+    if (sort.getOrderFor("id") != null) return sort;
+
+    // uuidv7 ids break ties; following the last direction keeps the (key, id) index scannable
+    return sort.and(Sort.by(sort.toList().getLast().getDirection(), "id"));
+  }
+
+  private String encodeCursor(Book last, Sort sort) {
+    Map<String, Object> keys = new LinkedHashMap<>();
+
+    for (Sort.Order order : sort)
+      keys.put(order.getProperty(), CURSOR_KEYS.get(order.getProperty()).extractor().apply(last));
+
+    return cursorMapper.toCursor(keys);
+  }
+
+  private Map<String, Object> decodeCursor(String after, Sort sort) {
+    Map<String, String> values = cursorMapper.fromCursor(after);
+
+    if (values.size() != sort.toList().size())
+      throw new IllegalArgumentException("Cursor does not match the requested sort");
+
+    Map<String, Object> keys = new HashMap<>();
+
+    for (Sort.Order order : sort) {
+      String value = values.get(order.getProperty());
+
+      if (value == null)
+        throw new IllegalArgumentException("Cursor does not match the requested sort");
+
+      try {
+        keys.put(order.getProperty(), CURSOR_KEYS.get(order.getProperty()).parser().apply(value));
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+    }
+
+    return keys;
+  }
+
   private void validateBook(Book book) {
     if (book == null) {
       throw new IllegalArgumentException("Book cannot be null");
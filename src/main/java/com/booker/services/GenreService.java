@@ -6,14 +6,18 @@ import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.booker.models.Genre;
 import com.booker.repositories.GenreRepository;
 
+import static com.booker.constants.Caches.BOOK_DETAILS;
+
 @Service
 @RequiredArgsConstructor
 public class GenreService {
@@ -29,6 +33,11 @@ public class GenreService {
     return repository.findAll(pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<Genre> findAllSlice(Pageable pageable) {
+    return repository.findAllBy(pageable);
+  }
+
   @Transactional(readOnly = true)
   public Optional<Genre> findById(UUID id) {
     return repository.findById(id);
@@ -47,6 +56,7 @@ public class GenreService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
   public Optional<Genre> update(UUID id, Genre genre) {
     Optional<Genre> existingGenre = repository.findById(id);
 
@@ -62,6 +72,7 @@ public class GenreService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = BOOK_DETAILS, allEntries = true)
   public boolean deleteById(UUID id) {
     if (repository.existsById(id)) {
       repository.deleteById(id);
@@ -1,29 +1,45 @@
 package com.booker.services;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import jakarta.annotation.PostConstruct;
 
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
+import lombok.RequiredArgsConstructor;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.booker.config.security.RejectedTokenException;
 import com.booker.config.security.SecurityConstants;
-import com.booker.models.User;
+import com.booker.config.security.TokenClaims;
+import com.booker.config.security.UserAccount;
+
+import static com.booker.constants.Caches.REJECTED_TOKENS;
+import static com.booker.constants.Caches.VERIFIED_TOKENS;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
+  private final CacheManager cacheManager;
+
   @Value("${jwt.secret}")
   private String secretKey;
 
@@ -33,8 +49,15 @@ public class JwtService {
   @Value("${jwt.refresh-token.expiration}")
   private long refreshTokenExpiration; // in milliseconds
 
+  // Built once; both are immutable and thread-safe
+  private SecretKey signingKey;
+  private JwtParser parser;
+
+  private Cache verifiedTokens;
+  private Cache rejectedTokens;
+
   @PostConstruct
-  public void validateSecretKey() {
+  public void initSigningKey() {
     if (secretKey == null || secretKey.isBlank()) {
       throw new IllegalStateException("JWT secret key cannot be null or empty");
     }
@@ -46,23 +69,30 @@ public class JwtService {
           "JWT secret key must be at least 256 bits (32 bytes) for HS256 algorithm. Current key has only %d bytes.",
           keyBytes.length));
     }
+
+    signingKey = Keys.hmacShaKeyFor(keyBytes);
+    parser = Jwts.parser().verifyWith(signingKey).build();
+
+    verifiedTokens = cacheManager.getCache(VERIFIED_TOKENS);
+    rejectedTokens = cacheManager.getCache(REJECTED_TOKENS);
   }
 
-  public String generateAccessToken(User user) {
+  public String generateAccessToken(UserAccount user) {
     Map<String, Object> claims = new HashMap<>();
 
-    claims.put(SecurityConstants.CLAIM_USER_ID, user.getId().toString());
-    claims.put("email", user.getEmail());
-    claims.put(SecurityConstants.CLAIM_ROLE, user.getRole().name());
+    claims.put(SecurityConstants.CLAIM_USER_ID, user.id().toString());
+    claims.put("email", user.email());
+    claims.put(SecurityConstants.CLAIM_ROLE, user.role().name());
+    claims.put(SecurityConstants.CLAIM_TOKEN_VERSION, user.tokenVersion());
     claims.put(SecurityConstants.CLAIM_TOKEN_TYPE, SecurityConstants.TOKEN_TYPE_ACCESS);
 
     return buildToken(claims, user.getUsername(), accessTokenExpiration);
   }
 
-  public String generateRefreshToken(User user) {
+  public String generateRefreshToken(UserAccount user) {
     Map<String, Object> claims = new HashMap<>();
 
-    claims.put(SecurityConstants.CLAIM_USER_ID, user.getId().toString());
+    claims.put(SecurityConstants.CLAIM_USER_ID, user.id().toString());
     claims.put(SecurityConstants.CLAIM_TOKEN_TYPE, SecurityConstants.TOKEN_TYPE_REFRESH);
 
     return buildToken(claims, user.getUsername(), refreshTokenExpiration);
@@ -72,73 +102,64 @@ public class JwtService {
     Instant now = Instant.now();
     Instant expiryDate = now.plusMillis(expiration);
 
+    // The random id keeps two tokens issued to the same user within a second distinct
     return Jwts.builder()
+        .id(UUID.randomUUID().toString())
         .claims(claims)
         .subject(subject)
         .issuedAt(Date.from(now))
         .expiration(Date.from(expiryDate))
-        .signWith(getSigningKey())
+        .signWith(signingKey)
         .compact();
   }
 
-  public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+  // Verifies the signature and expiration, then reads every claim the callers need in one pass
+  public TokenClaims parse(String token) {
+    return TokenClaims.from(parser.parseSignedClaims(token).getPayload());
   }
 
-  public String extractUserId(String token) {
-    return extractClaim(token, claims -> claims.get("userId", String.class));
-  }
+  // Tokens are reused for their whole lifetime, so their claims are kept until they expire, under a
+  // digest rather than the bearer token itself. Tokens that failed are refused again without a parse
+  public TokenClaims verify(String token) {
+    String digest = digest(token);
 
-  public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
+    if (rejectedTokens.get(digest) != null) throw new RejectedTokenException();
 
-  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-
-    return claimsResolver.apply(claims);
-  }
+    TokenClaims cached = verifiedTokens.get(digest, TokenClaims.class);
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(getSigningKey())
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
-  }
+    if (cached != null) return cached;
 
-  public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
+    try {
+      TokenClaims claims = parse(token);
 
-    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-  }
+      if (claims.expiresAt() != null) verifiedTokens.put(digest, claims);
 
-  public boolean isTokenType(String token, String expectedType) {
-    try {
-      String tokenType = extractClaim(token, claims -> claims.get(SecurityConstants.CLAIM_TOKEN_TYPE, String.class));
+      return claims;
+    } catch (JwtException | IllegalArgumentException e) {
+      rejectedTokens.put(digest, Boolean.TRUE);
 
-      return expectedType.equals(tokenType);
-    } catch (Exception e) {
-      return false;
+      throw e;
     }
   }
 
-  public boolean isAccessToken(String token) {
-    return isTokenType(token, SecurityConstants.TOKEN_TYPE_ACCESS);
-  }
-
-  public boolean isRefreshToken(String token) {
-    return isTokenType(token, SecurityConstants.TOKEN_TYPE_REFRESH);
-  }
+  private String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
 
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+      return HexFormat.of().formatHex(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
   }
 
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-
-    return Keys.hmacShaKeyFor(keyBytes);
+  public boolean isTokenValid(TokenClaims claims, UserDetails userDetails) {
+    return claims.username() != null
+      && claims.username().equals(userDetails.getUsername())
+      && userDetails.isEnabled()
+      && userDetails.isAccountNonLocked()
+      && claims.expiresAt() != null
+      && claims.expiresAt().isAfter(Instant.now())
+    ;
   }
 
   public long getAccessTokenExpirationInSeconds() {
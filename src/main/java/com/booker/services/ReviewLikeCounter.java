@@ -0,0 +1,80 @@
+package com.booker.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.booker.repositories.ReviewRepository;
+
+// Remembers which reviews had likes added or removed and recounts them from review_likes in periodic
+// batches, so a review liked a thousand times between flushes takes one row update. Setting counts
+// from review_likes rather than adding deltas keeps them exact whichever instance flushes first
+@Slf4j
+@Component @RequiredArgsConstructor
+public class ReviewLikeCounter {
+  private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+  private final ReviewRepository repository;
+
+  // Marks the review only once the like row is committed, so the recount sees it
+  public void markChanged(UUID reviewId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      changed.add(reviewId);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() { changed.add(reviewId); }
+    });
+  }
+
+  // Deleting a user cascades to their likes without going through unlike
+  public void markLikedBy(UUID userId) {
+    repository.findLikedReviewIds(userId).forEach(this::markChanged);
+  }
+
+  @Scheduled(fixedDelayString = "${reviews.likes.flush-interval}")
+  public synchronized void flush() {
+    List<UUID> batch = new ArrayList<>();
+
+    // Removed before the recount: a like committed meanwhile marks its review again for the next flush
+    for (UUID reviewId : changed) {
+      if (changed.remove(reviewId)) batch.add(reviewId);
+    }
+
+    if (batch.isEmpty()) return;
+
+    try {
+      repository.recountLikes(batch);
+    } catch (DataAccessException e) {
+      // Put the batch back; it goes out with the next flush
+      changed.addAll(batch);
+      log.warn("Failed to recount likes of {} reviews: {}", batch.size(), e.getMessage());
+    }
+  }
+
+  // Marks still in memory when the process died are lost; this finds the counts they left stale
+  public List<UUID> reconcile() {
+    List<UUID> drifted = repository.findIdsWithLikeCountDrift();
+
+    if (!drifted.isEmpty()) repository.recountLikes(drifted);
+
+    return drifted;
+  }
+
+  @PreDestroy
+  public void shutdown() { flush(); }
+}
\ No newline at end of file
@@ -1,36 +1,65 @@
 package com.booker.services;
 
+import java.math.BigDecimal;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.booker.DTO.Book.BookDetailDTO;
 import com.booker.DTO.Review.CreateReviewDTO;
+import com.booker.DTO.Review.ReviewDTO;
+import com.booker.DTO.Review.ReviewSummaryDTO;
 import com.booker.DTO.Review.UpdateReviewDTO;
+import com.booker.config.security.AuthenticatedUser;
 import com.booker.exceptions.BusinessRuleException;
 import com.booker.exceptions.ResourceNotFoundException;
 import com.booker.mappers.BookMapper;
 import com.booker.mappers.ReviewMapper;
 import com.booker.models.Book;
 import com.booker.models.Review;
-import com.booker.models.User;
 import com.booker.repositories.ReviewRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service @Transactional @RequiredArgsConstructor
 public class ReviewService {
+  // Orders a book's reviews can be listed in, each matching one of the (book_id, ...) indexes
+  private static final Map<String, Sort> BOOK_REVIEW_SORTS = Map.of(
+    "newest", Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+    "mostLiked", Sort.by(Sort.Direction.DESC, "likeCount", "id")
+  );
+
   private final ReviewRepository repository;
   private final BookService bookService;
+  private final UserService userService;
   private final BookMapper bookMapper;
   private final ReviewMapper mapper;
+  private final ReviewLikeCounter likeCounter;
+
+  @Transactional(readOnly = true)
+  public Page<ReviewSummaryDTO> findAll(Pageable pageable) { return repository.findAllSummaries(pageable); }
+
+  @Transactional(readOnly = true)
+  public Slice<ReviewSummaryDTO> findAllSlice(Pageable pageable) { return repository.findSummarySlice(pageable); }
 
+  // Mapped inside the transaction, where the embedded books' genres can still be initialized
   @Transactional(readOnly = true)
-  public Page<Review> findAll(Pageable pageable) { return repository.findAll(pageable); }
+  public Page<ReviewDTO> findAllWithBooks(Pageable pageable) {
+    return repository.findWithBooksBy(pageable).map(mapper::toDTO);
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<ReviewDTO> findAllWithBooksSlice(Pageable pageable) {
+    return repository.findWithBooksSliceBy(pageable).map(mapper::toDTO);
+  }
 
   @Transactional(readOnly = true)
   public Review findById(UUID id) {
@@ -40,22 +69,33 @@ public class ReviewService {
     ;
   }
 
-  public Review create(CreateReviewDTO data, User currentUser) {
+  public Review create(CreateReviewDTO data, UUID userId) {
     BookDetailDTO bookDTO = bookService.findById(data.bookID());
     Book book = bookMapper.toEntity(bookDTO);
 
-    Review review = mapper.toEntity(data, currentUser, book);
+    Review review = mapper.toEntity(data, userService.findById(userId), book);
+
+    Review saved;
 
-    try { return repository.save(review); }
+    try { saved = repository.save(review); }
     catch (DataIntegrityViolationException exception) {
       throw new BusinessRuleException("It's not allowed to create more than one review per book");
     }
+
+    bookService.addRating(book.getId(), saved.getScore());
+
+    return saved;
   }
 
   public void update(UUID id, UpdateReviewDTO data) {
-    Review review = findById(id);
+    Review review = findByIdForUpdate(id);
+    BigDecimal previous = review.getScore();
+
+    if (data.score() != null && data.score().compareTo(previous) != 0) {
+      review.setScore(data.score());
+      bookService.changeRating(review.getBook().getId(), previous, data.score());
+    }
 
-    if (data.score() != null) review.setScore(data.score());
     if (data.headline() != null) review.setHeadline(data.headline());
     if (data.text() != null) review.setText(data.text());
 
@@ -63,19 +103,53 @@ public class ReviewService {
   }
 
   public void delete(UUID id) {
-    if (!repository.existsById(id)) throw new ResourceNotFoundException("Review not found for ID: " + id);
+    Review review = findByIdForUpdate(id);
+
+    repository.delete(review);
+    bookService.removeRating(review.getBook().getId(), review.getScore());
+  }
+
+  // Liking twice, or unliking a review not liked, changes nothing
+  public void like(UUID id, UUID userId) {
+    if (repository.insertLike(id, userId) > 0) likeCounter.markChanged(id);
+    else if (!repository.existsById(id)) throw new ResourceNotFoundException("Review not found for ID: " + id);
+  }
 
-    repository.deleteById(id);
+  public void unlike(UUID id, UUID userId) {
+    if (repository.deleteLike(id, userId) > 0) likeCounter.markChanged(id);
+    else if (!repository.existsById(id)) throw new ResourceNotFoundException("Review not found for ID: " + id);
   }
 
   @Transactional(readOnly = true)
-  public Page<Review> findByBookID(UUID bookID, Pageable pageable) { return repository.findByBookId(bookID, pageable); }
+  public Page<Review> findByBookID(UUID bookID, Pageable pageable) {
+    return repository.findByBookId(bookID, bookReviewsPageable(pageable));
+  }
 
   @Transactional(readOnly = true)
-  public boolean isOwner(UUID id, String username) {
-    return repository.findById(id)
-      .map(review -> review.getUser().getUsername().equals(username))
-      .orElse(false)
+  public Slice<Review> findSliceByBookID(UUID bookID, Pageable pageable) {
+    return repository.findSliceByBookId(bookID, bookReviewsPageable(pageable));
+  }
+
+  private Pageable bookReviewsPageable(Pageable pageable) {
+    Sort requested = pageable.getSort();
+    String order = requested.isSorted() ? requested.iterator().next().getProperty() : "newest";
+
+    if (requested.toList().size() > 1 || !BOOK_REVIEW_SORTS.containsKey(order))
+      throw new IllegalArgumentException("Reviews of a book can only be sorted by newest or mostLiked");
+
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), BOOK_REVIEW_SORTS.get(order));
+  }
+
+  private Review findByIdForUpdate(UUID id) {
+    return repository
+      .findByIdForUpdate(id)
+      .orElseThrow(() -> new ResourceNotFoundException("Review not found for ID: " + id))
     ;
   }
+
+  // Answered from the reviews primary key alone, without loading the review or its author
+  @Transactional(readOnly = true)
+  public boolean isOwner(UUID id, Object principal) {
+    return principal instanceof AuthenticatedUser user && repository.existsByIdAndUserId(id, user.id());
+  }
 }
\ No newline at end of file
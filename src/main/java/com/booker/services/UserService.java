@@ -4,9 +4,13 @@ import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,30 +21,52 @@ import com.booker.DTO.Auth.RegisterRequestDTO;
 import com.booker.DTO.User.CreateUserDTO;
 import com.booker.DTO.User.UpdatePasswordDTO;
 import com.booker.DTO.User.UpdateUserDTO;
+import com.booker.config.security.UserAccount;
 import com.booker.exceptions.ResourceNotFoundException;
 import com.booker.models.User;
 import com.booker.models.enums.Role;
 import com.booker.repositories.UserRepository;
 
+import static com.booker.constants.Caches.TOKEN_VERSIONS;
+import static com.booker.constants.Caches.USER_DETAILS;
+
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
   private final UserRepository repository;
   private final PasswordEncoder passwordEncoder;
+  private final BookService bookService;
+  private final ReviewLikeCounter likeCounter;
+  private final CacheManager cacheManager;
 
+  // Cached under the username or email it was looked up by, as a snapshot rather than the
+  // managed entity; evictUserDetails drops both
   @Override
+  @Cacheable(cacheNames = USER_DETAILS, key = "#username")
   @Transactional(readOnly = true)
-  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    return repository.findByUsername(username)
-        .or(() -> repository.findByEmail(username))
+  public UserAccount loadUserByUsername(String username) throws UsernameNotFoundException {
+    return repository.findByUsernameOrEmail(username)
+        .map(UserAccount::from)
         .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + username));
   }
 
+  // Null once the user is deleted, which no token version matches
+  @Cacheable(cacheNames = TOKEN_VERSIONS, key = "#id")
+  @Transactional(readOnly = true)
+  public Integer findTokenVersion(UUID id) {
+    return repository.findTokenVersionById(id).orElse(null);
+  }
+
   @Transactional(readOnly = true)
   public Page<User> findAll(Pageable pageable) {
     return repository.findAll(pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<User> findAllSlice(Pageable pageable) {
+    return repository.findAllBy(pageable);
+  }
+
   @Transactional(readOnly = true)
   public User findById(UUID id) {
     return repository
@@ -62,7 +88,7 @@ public class UserService implements UserDetailsService {
         .orElseThrow(() -> new ResourceNotFoundException("User not found for email: " + email));
   }
 
-  @Transactional
+  // Not transactional, like register: the hash is computed before the insert takes a connection
   public User save(RegisterRequestDTO data) {
     if (repository.existsByUsername(data.username()))
       throw new IllegalArgumentException("This username is already in use");
@@ -83,7 +109,6 @@ public class UserService implements UserDetailsService {
     return repository.save(user);
   }
 
-  @Transactional
   public User save(CreateUserDTO data) {
     if (repository.existsByUsername(data.username()))
       throw new IllegalArgumentException("This username is already in use");
@@ -106,9 +131,12 @@ public class UserService implements UserDetailsService {
   }
 
   @Transactional
+  @CacheEvict(cacheNames = TOKEN_VERSIONS, key = "#id")
   public void update(UUID id, UpdateUserDTO data) {
     User user = findById(id);
 
+    evictUserDetails(user);
+
     if (data.username() != null) {
       if (repository.existsByUsername(data.username()))
         throw new IllegalArgumentException("This username is already in use");
@@ -131,7 +159,9 @@ public class UserService implements UserDetailsService {
     repository.save(user);
   }
 
-  @Transactional
+  // Not transactional: both hashes run on the bounded hashing pool with no connection held. The
+  // new hash is written only over the one that was checked, so a concurrent change is not lost
+  @CacheEvict(cacheNames = TOKEN_VERSIONS, key = "#id")
   public void updatePassword(UUID id, UpdatePasswordDTO data) {
     User user = findById(id);
 
@@ -139,13 +169,35 @@ public class UserService implements UserDetailsService {
       throw new IllegalArgumentException("Incorrect password");
     }
 
-    user.setPassword(passwordEncoder.encode(data.newPassword()));
+    String password = passwordEncoder.encode(data.newPassword());
 
-    repository.save(user);
+    if (repository.updatePassword(id, user.getPassword(), password) == 0) {
+      throw new IllegalArgumentException("Incorrect password");
+    }
+
+    evictUserDetails(user);
   }
 
   @Transactional
+  @CacheEvict(cacheNames = TOKEN_VERSIONS, key = "#id")
   public void delete(UUID id) {
-    repository.deleteById(id);
+    // Runs before the delete is flushed, while the user's reviews and likes are still there
+    bookService.removeRatingsByUser(id);
+    likeCounter.markLikedBy(id);
+    repository.findById(id).ifPresent(user -> {
+      evictUserDetails(user);
+      repository.delete(user);
+    });
+  }
+
+  // Evicted now and again at commit, which the transaction-aware cache manager defers evict to,
+  // so a snapshot loaded while the change was in flight does not outlive it
+  private void evictUserDetails(User user) {
+    Cache cache = cacheManager.getCache(USER_DETAILS);
+
+    for (String key : new String[] { user.getUsername(), user.getEmail() }) {
+      cache.evictIfPresent(key);
+      cache.evict(key);
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.booker.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import com.booker.repositories.projections.ListingVersion;
+
+public final class ConditionalRequests {
+  private ConditionalRequests() {}
+
+  public static String strongETag(String version) {
+    return "\"" + version + "\"";
+  }
+
+  public static String strongETag(UUID id, LocalDateTime updatedAt) {
+    return strongETag(id + "-" + toEpochMicros(updatedAt));
+  }
+
+  // The count changes on deletes, which never move the newest updated_at
+  public static String weakETag(ListingVersion version) {
+    LocalDateTime lastModified = version.getLastModified();
+
+    return "W/" + strongETag(version.getTotal() + "-" + (lastModified != null ? toEpochMicros(lastModified) : 0));
+  }
+
+  // Epoch millis for Last-Modified, or -1 (no header) for an empty listing
+  public static long lastModified(ListingVersion version) {
+    LocalDateTime lastModified = version.getLastModified();
+
+    return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+  }
+
+  private static long toEpochMicros(LocalDateTime dateTime) {
+    Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+
+    return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+  }
+}
\ No newline at end of file
@@ -609,4 +609,29 @@ INSERT INTO reviews (
     'f0000015-0000-0000-0000-000000000015',
     'b0000015-0000-0000-0000-000000000015'
   )
-ON CONFLICT (id) DO NOTHING;
\ No newline at end of file
+ON CONFLICT (id) DO NOTHING;
+
+-- The reviews above skip ReviewService, so the book rating aggregates are rebuilt from them
+WITH buckets AS (
+  SELECT b.id AS book_id, i AS bucket, COUNT(r.id)::INTEGER AS reviews, COALESCE(SUM(r.score), 0) AS scores
+  FROM books b
+  CROSS JOIN generate_series(0, 10) i
+  LEFT JOIN reviews r ON r.book_id = b.id AND floor(r.score * 2) = i
+  GROUP BY b.id, i
+), ratings AS (
+  SELECT book_id,
+    SUM(reviews)::INTEGER AS review_count,
+    SUM(scores) AS score_sum,
+    array_agg(reviews ORDER BY bucket) AS score_histogram
+  FROM buckets
+  GROUP BY book_id
+)
+UPDATE books
+SET review_count = r.review_count,
+  score_sum = r.score_sum,
+  score_histogram = r.score_histogram,
+  ratings_updated_at = LOCALTIMESTAMP
+FROM ratings r
+WHERE r.book_id = books.id
+  AND (books.review_count, books.score_sum, books.score_histogram) IS DISTINCT FROM
+    (r.review_count, r.score_sum, r.score_histogram);
\ No newline at end of file
@@ -0,0 +1,9 @@
+-- Weighted full-text document for catalog search: title (A) ranks above synopsis (B)
+ALTER TABLE books
+  ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(synopsis, '')), 'B')
+  ) STORED
+;
+
+CREATE INDEX idx_books_search_vector ON books USING GIN (search_vector);
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- Trigram index so case-insensitive substring title filters (ILIKE '%x%') can use an index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_books_title_trgm ON books USING GIN (title gin_trgm_ops);
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- Keyset pagination seeks on (sort key, id); composite indexes replace the single-column ones
+DROP INDEX IF EXISTS idx_books_title;
+
+DROP INDEX IF EXISTS idx_books_created_at;
+
+CREATE INDEX idx_books_title_id ON books (title, id);
+
+CREATE INDEX idx_books_created_at_id ON books (created_at, id);
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- Composite indexes for the combinable GET /books filters
+-- Author filter with the default title sort (and keyset on it) reads the index in order
+DROP INDEX IF EXISTS idx_books_author_id;
+
+CREATE INDEX idx_books_author_id_title_id ON books (author_id, title, id);
+
+-- Page-count ranges, and the pageCount sort/cursor
+CREATE INDEX idx_books_page_count_id ON books (page_count, id);
+
+-- Genre filter resolves book ids from the index alone; the primary key already leads with book_id
+DROP INDEX IF EXISTS idx_book_genres_genre_id;
+
+DROP INDEX IF EXISTS idx_book_genres_book_id;
+
+CREATE INDEX idx_book_genres_genre_id_book_id ON book_genres (genre_id, book_id);
\ No newline at end of file
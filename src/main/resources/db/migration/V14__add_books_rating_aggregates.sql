@@ -0,0 +1,30 @@
+-- Rating aggregates kept in step with reviews by delta updates
+-- score_histogram[i] counts scores in [(i - 1) / 2, i / 2); the eleventh bucket holds the 5.0 scores
+ALTER TABLE books
+  ADD COLUMN review_count       INTEGER        NOT NULL DEFAULT 0                     CHECK (review_count >= 0),
+  ADD COLUMN score_sum          NUMERIC(12, 1) NOT NULL DEFAULT 0                     CHECK (score_sum >= 0),
+  ADD COLUMN score_histogram    INTEGER[]      NOT NULL DEFAULT array_fill(0, ARRAY[11]),
+  ADD COLUMN ratings_updated_at TIMESTAMP
+;
+
+WITH buckets AS (
+  SELECT b.id AS book_id, i AS bucket, COUNT(r.id)::INTEGER AS reviews, COALESCE(SUM(r.score), 0) AS scores
+  FROM books b
+  CROSS JOIN generate_series(0, 10) i
+  LEFT JOIN reviews r ON r.book_id = b.id AND floor(r.score * 2) = i
+  GROUP BY b.id, i
+), ratings AS (
+  SELECT book_id,
+    SUM(reviews)::INTEGER AS review_count,
+    SUM(scores) AS score_sum,
+    array_agg(reviews ORDER BY bucket) AS score_histogram
+  FROM buckets
+  GROUP BY book_id
+)
+UPDATE books
+SET review_count = r.review_count,
+  score_sum = r.score_sum,
+  score_histogram = r.score_histogram,
+  ratings_updated_at = LOCALTIMESTAMP
+FROM ratings r
+WHERE r.book_id = books.id AND r.review_count > 0;
\ No newline at end of file
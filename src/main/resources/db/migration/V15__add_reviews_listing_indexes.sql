@@ -0,0 +1,7 @@
+-- Review pages of a book in either supported order come straight off an index; id breaks ties
+-- so pages stay stable. Both lead with book_id, which also serves the foreign key lookups
+DROP INDEX IF EXISTS idx_reviews_book_id;
+
+CREATE INDEX idx_reviews_book_id_created_at_id ON reviews (book_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_reviews_book_id_like_count_id ON reviews (book_id, like_count DESC, id DESC);
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- One row per (review, user): the source of truth that reviews.like_count is flushed from and recomputed against
+CREATE TABLE review_likes (
+  review_id   UUID      NOT NULL,
+  user_id     UUID      NOT NULL,
+
+  created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+  PRIMARY KEY (review_id, user_id),
+  FOREIGN KEY (review_id) REFERENCES reviews(id) ON DELETE CASCADE,
+  FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_review_likes_user_id ON review_likes(user_id);
\ No newline at end of file
@@ -0,0 +1,23 @@
+-- Access tokens carry the token_version they were issued under; bumping it revokes them all
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Bumped on any change that must end existing sessions, including updates made outside the API
+CREATE FUNCTION bump_users_token_version() RETURNS TRIGGER AS $$
+BEGIN
+  IF NEW.username IS DISTINCT FROM OLD.username
+    OR NEW.password IS DISTINCT FROM OLD.password
+    OR NEW.role IS DISTINCT FROM OLD.role
+    OR NEW.enabled IS DISTINCT FROM OLD.enabled
+    OR NEW.account_non_locked IS DISTINCT FROM OLD.account_non_locked
+  THEN
+    NEW.token_version := OLD.token_version + 1;
+  END IF;
+
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_token_version
+  BEFORE UPDATE ON users
+  FOR EACH ROW EXECUTE FUNCTION bump_users_token_version()
+;
\ No newline at end of file
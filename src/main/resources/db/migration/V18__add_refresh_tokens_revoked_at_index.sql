@@ -0,0 +1,2 @@
+-- Lets the purge job find long-revoked tokens without scanning the table
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at) WHERE revoked;
\ No newline at end of file
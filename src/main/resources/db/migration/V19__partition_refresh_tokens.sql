@@ -0,0 +1,99 @@
+-- refresh_tokens becomes range-partitioned by expires_at, one partition per day, so expired
+-- tokens go away by dropping whole partitions instead of DELETEs that bloat the table.
+-- token_hash holds the raw SHA-256 digest instead of its Base64 text
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+
+-- Unique and primary keys of a partitioned table must include the partition key
+CREATE TABLE refresh_tokens (
+  id          UUID         NOT NULL    DEFAULT uuidv7(),
+  token_hash  BYTEA        NOT NULL    CHECK (octet_length(token_hash) = 32),
+  user_id     UUID         NOT NULL,
+  expires_at  TIMESTAMP    NOT NULL,
+  revoked     BOOLEAN      NOT NULL    DEFAULT FALSE,
+  revoked_at  TIMESTAMP,
+  device_info VARCHAR(500),
+  ip_address  VARCHAR(45),
+  created_at  TIMESTAMP    NOT NULL    DEFAULT CURRENT_TIMESTAMP,
+
+  CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+  CONSTRAINT uq_refresh_tokens_token_hash UNIQUE (token_hash, expires_at),
+  CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- Catches rows no daily partition covers yet; create_refresh_tokens_partitions moves them out
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+-- Creates the daily partitions from today through days_ahead days from now
+CREATE FUNCTION create_refresh_tokens_partitions(days_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+  day       DATE;
+  partition TEXT;
+  created   INTEGER := 0;
+BEGIN
+  -- Serializes maintenance across nodes
+  PERFORM pg_advisory_xact_lock(hashtext('refresh_tokens_partitions'));
+
+  FOR day IN SELECT generate_series(CURRENT_DATE, CURRENT_DATE + days_ahead, INTERVAL '1 day')::DATE LOOP
+    partition := 'refresh_tokens_' || to_char(day, 'YYYYMMDD');
+
+    CONTINUE WHEN to_regclass(partition) IS NOT NULL;
+
+    EXECUTE format('CREATE TABLE %I (LIKE refresh_tokens INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition);
+    EXECUTE format(
+      'WITH moved AS (DELETE FROM refresh_tokens_default WHERE expires_at >= %L AND expires_at < %L RETURNING *)
+       INSERT INTO %I SELECT * FROM moved',
+      day, day + 1, partition
+    );
+    EXECUTE format('ALTER TABLE refresh_tokens ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', partition, day, day + 1);
+
+    created := created + 1;
+  END LOOP;
+
+  RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops the daily partitions whose every token has expired
+CREATE FUNCTION drop_expired_refresh_tokens_partitions() RETURNS INTEGER AS $$
+DECLARE
+  partition TEXT;
+  dropped   INTEGER := 0;
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('refresh_tokens_partitions'));
+
+  -- Dropping a partition briefly locks refresh_tokens; fail rather than queue behind a long query
+  PERFORM set_config('lock_timeout', '5s', true);
+
+  FOR partition IN
+    SELECT c.relname FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'refresh_tokens'::regclass
+      AND c.relname ~ '^refresh_tokens_[0-9]{8}$'
+      AND to_date(right(c.relname, 8), 'YYYYMMDD') < CURRENT_DATE
+  LOOP
+    EXECUTE format('DROP TABLE %I', partition);
+
+    dropped := dropped + 1;
+  END LOOP;
+
+  DELETE FROM refresh_tokens_default WHERE expires_at < CURRENT_DATE;
+
+  RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_refresh_tokens_partitions(14);
+
+-- Tokens that expired before today are dead already and are left behind
+INSERT INTO refresh_tokens (id, token_hash, user_id, expires_at, revoked, revoked_at, device_info, ip_address, created_at)
+SELECT id, decode(token_hash, 'base64'), user_id, expires_at, revoked, revoked_at, device_info, ip_address, created_at
+FROM refresh_tokens_unpartitioned
+WHERE expires_at >= CURRENT_DATE;
+
+DROP TABLE refresh_tokens_unpartitioned;
+
+-- Lookups by token_hash go through uq_refresh_tokens_token_hash
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+-- Revoked tokens live until their day is dropped; this lets the purge job find the long-revoked ones
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at) WHERE revoked;
\ No newline at end of file
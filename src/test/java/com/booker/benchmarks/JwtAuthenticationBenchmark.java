@@ -0,0 +1,114 @@
+package com.booker.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.booker.config.security.SecurityConstants;
+import com.booker.config.security.TokenClaims;
+import com.booker.config.security.UserAccount;
+import com.booker.models.User;
+import com.booker.models.enums.Role;
+import com.booker.services.JwtService;
+
+import static com.booker.constants.Caches.REJECTED_TOKENS;
+import static com.booker.constants.Caches.VERIFIED_TOKENS;
+
+// Per-request cost of authenticating a bearer token, before and after JwtAuthenticationFilter parsed it once.
+// Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//   -Dexec.args="-cp %classpath com.booker.benchmarks.JwtAuthenticationBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+  private static final String SECRET = "0123456789abcdef0123456789abcdef0123";
+
+  private JwtService jwtService;
+  private User user;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService(new ConcurrentMapCacheManager(VERIFIED_TOKENS, REJECTED_TOKENS));
+
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 3_600_000L);
+    ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 86_400_000L);
+
+    jwtService.initSigningKey();
+
+    user = new User();
+
+    user.setId(UUID.randomUUID());
+    user.setUsername("reader");
+    user.setEmail("reader@example.com");
+    user.setRole(Role.USER);
+
+    token = jwtService.generateAccessToken(UserAccount.from(user));
+  }
+
+  // extractUsername, isAccessToken, then isTokenValid's extractUsername and extractExpiration,
+  // each building a new key and parser and verifying the signature again
+  @Benchmark
+  public boolean legacyPipeline() {
+    String username = legacyParse(token).getSubject();
+    boolean access = SecurityConstants.TOKEN_TYPE_ACCESS.equals(legacyParse(token).get(SecurityConstants.CLAIM_TOKEN_TYPE, String.class));
+
+    return access
+      && legacyParse(token).getSubject().equals(username)
+      && !legacyParse(token).getExpiration().before(new Date())
+    ;
+  }
+
+  @Benchmark
+  public boolean singleParse() {
+    TokenClaims claims = jwtService.parse(token);
+
+    return claims.isAccessToken() && jwtService.isTokenValid(claims, user);
+  }
+
+  // A token seen before, answered from the verified-token cache
+  @Benchmark
+  public boolean cachedVerify() {
+    TokenClaims claims = jwtService.verify(token);
+
+    return claims.isAccessToken() && jwtService.isTokenValid(claims, user);
+  }
+
+  private static Claims legacyParse(String token) {
+    return Jwts.parser()
+      .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+      .build()
+      .parseSignedClaims(token)
+      .getPayload()
+    ;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+  }
+}
\ No newline at end of file
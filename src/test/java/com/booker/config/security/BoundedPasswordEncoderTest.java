@@ -0,0 +1,114 @@
+package com.booker.config.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.booker.exceptions.ServiceUnavailableException;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+  @Mock
+  private PasswordEncoder delegate;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private BoundedPasswordEncoder encoder;
+
+  @BeforeEach
+  void setUp() {
+    encoder = new BoundedPasswordEncoder(delegate, 1, 1, 2, registry);
+  }
+
+  @AfterEach
+  void tearDown() { encoder.shutdown(); }
+
+  // ========== HASHING TESTS ==========
+
+  @Test
+  void encodeAndMatches_ShouldRunOnPool_AndRecordDuration() {
+    // Given
+    when(delegate.encode("secret")).thenReturn("hashed");
+    when(delegate.matches("secret", "hashed")).thenReturn(true);
+
+    // When
+    String hash = encoder.encode("secret");
+    boolean matches = encoder.matches("secret", "hashed");
+
+    // Then
+    assertEquals("hashed", hash);
+    assertTrue(matches);
+    assertEquals(1, registry.get("password_hashing.duration").tag("operation", "encode").timer().count());
+    assertEquals(1, registry.get("password_hashing.duration").tag("operation", "matches").timer().count());
+  }
+
+  @Test
+  void matches_ShouldRethrowDelegateFailure() {
+    // Given
+    when(delegate.matches("secret", "not-a-hash")).thenThrow(new IllegalArgumentException("Invalid hash"));
+
+    // When & Then
+    IllegalArgumentException exception = assertThrows(
+      IllegalArgumentException.class,
+      () -> encoder.matches("secret", "not-a-hash")
+    );
+
+    assertEquals("Invalid hash", exception.getMessage());
+  }
+
+  // ========== ADMISSION TESTS ==========
+
+  @Test
+  void encode_ShouldRefuseAtOnce_WhenPoolAndQueueAreFull() throws Exception {
+    // Given - One hash running, one queued
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(delegate.encode("slow")).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(10, TimeUnit.SECONDS);
+
+      return "hashed";
+    });
+
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+
+    while (registry.get("executor.queued").tag("name", "password_hashing").gauge().value() < 1) {
+      Thread.sleep(10);
+    }
+
+    try {
+      // When
+      ServiceUnavailableException exception = assertThrows(
+        ServiceUnavailableException.class,
+        () -> encoder.encode("slow")
+      );
+
+      // Then
+      assertEquals(2, exception.getRetryAfterSeconds());
+      assertEquals(1, registry.get("password_hashing.rejected").counter().count());
+    } finally {
+      release.countDown();
+    }
+
+    assertEquals("hashed", running.get(10, TimeUnit.SECONDS));
+    assertEquals("hashed", queued.get(10, TimeUnit.SECONDS));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.booker.config.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.booker.exceptions.TooManyRequestsException;
+
+class LoginRateLimiterTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final AtomicLong now = new AtomicLong();
+
+  private LoginRateLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    // 3 attempts per IP, one back every second; 2 per account, one back every 10 seconds
+    limiter = new LoginRateLimiter(registry, now::get, 3, 1000, 2, 10000, 1000);
+  }
+
+  private void advance(long seconds) {
+    now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  // ========== IP TESTS ==========
+
+  @Test
+  void acquire_ShouldAllowBurstThenRefuse_UntilATokenIsBack() {
+    // Given
+    limiter.acquire("10.0.0.1", "bentinho");
+    limiter.acquire("10.0.0.1", "capitu");
+    limiter.acquire("10.0.0.1", "escobar");
+
+    // When
+    TooManyRequestsException exception = assertThrows(
+      TooManyRequestsException.class,
+      () -> limiter.acquire("10.0.0.1", "sancha")
+    );
+
+    // Then
+    assertEquals(1, exception.getRetryAfterSeconds());
+    assertEquals(1, registry.get("login.throttled").tag("key", "ip").counter().count());
+    assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "sancha"));
+
+    advance(1);
+    assertDoesNotThrow(() -> limiter.acquire("10.0.0.1", "sancha"));
+  }
+
+  // ========== USERNAME TESTS ==========
+
+  @Test
+  void acquire_ShouldThrottleAccount_AcrossIpsAndLetterCase() {
+    // Given
+    limiter.acquire("10.0.0.1", "bentinho");
+    limiter.acquire("10.0.0.2", "Bentinho ");
+
+    // When
+    TooManyRequestsException exception = assertThrows(
+      TooManyRequestsException.class,
+      () -> limiter.acquire("10.0.0.3", "BENTINHO")
+    );
+
+    // Then
+    assertEquals(10, exception.getRetryAfterSeconds());
+    assertEquals(1, registry.get("login.throttled").tag("key", "username").counter().count());
+
+    advance(10);
+    assertDoesNotThrow(() -> limiter.acquire("10.0.0.3", "bentinho"));
+  }
+
+  @Test
+  void acquire_ShouldNotSpendAccountTokens_WhenRefusedByIp() {
+    // Given
+    limiter.acquire("10.0.0.1", "capitu");
+    limiter.acquire("10.0.0.1", "escobar");
+    limiter.acquire("10.0.0.1", "sancha");
+
+    // When
+    assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1", "bentinho"));
+    assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1", "bentinho"));
+
+    // Then
+    assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "bentinho"));
+    assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "bentinho"));
+  }
+
+  // ========== CONCURRENCY TESTS ==========
+
+  @Test
+  void acquire_ShouldGrantExactlyCapacity_UnderConcurrentAttempts() throws Exception {
+    // Given
+    int attempts = 50;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+
+    for (int i = 0; i < attempts; i++) {
+      String username = "user-" + i;
+
+      tasks.add(() -> {
+        start.await();
+
+        try {
+          limiter.acquire("10.0.0.1", username);
+
+          return true;
+        } catch (TooManyRequestsException e) {
+          return false;
+        }
+      });
+    }
+
+    // When
+    List<Future<Boolean>> results = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      tasks.forEach(task -> results.add(executor.submit(task)));
+      start.countDown();
+    }
+
+    // Then
+    long granted = 0;
+
+    for (Future<Boolean> result : results) {
+      if (result.get()) granted++;
+    }
+
+    assertEquals(3, granted);
+    assertEquals(attempts - 3, registry.get("login.throttled").tag("key", "ip").counter().count());
+  }
+}
\ No newline at end of file
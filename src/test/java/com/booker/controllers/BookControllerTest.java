@@ -1,5 +1,9 @@
 package com.booker.controllers;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -7,6 +11,7 @@ import java.util.UUID;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,17 +22,20 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,15 +46,23 @@ import com.booker.config.security.SecurityConfig;
 import com.booker.DTO.Book.BookCreateDTO;
 import com.booker.DTO.Book.BookDTO;
 import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.BookFilterDTO;
+import com.booker.DTO.Book.BookRatingsDTO;
+import com.booker.DTO.Book.VersionedBookDetailDTO;
+import com.booker.DTO.Pagination.CursorPageDTO;
+import com.booker.exceptions.ResourceNotFoundException;
 import com.booker.mappers.AuthorMapper;
 import com.booker.mappers.BookMapper;
 import com.booker.mappers.GenreMapper;
 import com.booker.mappers.ReviewMapper;
 import com.booker.mappers.UserMapper;
 import com.booker.models.Book;
+import com.booker.repositories.projections.ListingVersion;
 import com.booker.services.BookService;
 import com.booker.services.JwtService;
 import com.booker.services.ReviewService;
+import com.booker.services.UserService;
+import com.booker.utils.ConditionalRequests;
 
 import static com.booker.constants.Auth.ADMIN_ROLE;
 
@@ -73,7 +89,7 @@ class BookControllerTest {
   private JwtService jwtService;
 
   @MockitoBean
-  private UserDetailsService userDetailsService;
+  private UserService userService;
 
   @MockitoBean
   private PasswordEncoder passwordEncoder;
@@ -89,6 +105,20 @@ class BookControllerTest {
   @MockitoBean
   private ReviewService reviewService;
 
+  private static final LocalDateTime LAST_MODIFIED = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+  private static final ListingVersion LISTING_VERSION = new ListingVersion() {
+    public long getTotal() { return 1; }
+
+    public LocalDateTime getLastModified() { return LAST_MODIFIED; }
+  };
+
+  @BeforeEach
+  void setUp() {
+    when(bookService.findListingVersion(any(BookFilterDTO.class))).thenReturn(LISTING_VERSION);
+    when(bookService.findVersion(any(UUID.class))).thenReturn("v1");
+  }
+
   @Test
   void getBookById_ShouldReturnBook_WhenBookExists() throws Exception {
     final UUID bookId = UUID.randomUUID();
@@ -100,10 +130,10 @@ class BookControllerTest {
       256,
       null, null,
       "https://example.com/dom-casmurro.jpg",
-      null, null
+      null, null, 0, null
     );
 
-    when(bookService.findById(bookId)).thenReturn(bookDTO);
+    when(bookService.findVersionedById(bookId)).thenReturn(new VersionedBookDetailDTO(bookDTO, "v1"));
 
     mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
       .andExpect(status().isOk())
@@ -114,6 +144,40 @@ class BookControllerTest {
     );
   }
 
+  @Test
+  void getBookRatings_ShouldReturnAggregates_WhenBookExists() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    BookRatingsDTO ratings = new BookRatingsDTO(
+      bookId,
+      2,
+      new BigDecimal("4.25"),
+      List.of(new BookRatingsDTO.Bucket(new BigDecimal("4.0"), 1), new BookRatingsDTO.Bucket(new BigDecimal("4.5"), 1)),
+      LocalDateTime.of(2025, 1, 1, 12, 0)
+    );
+
+    when(bookService.findRatings(bookId)).thenReturn(ratings);
+
+    mockMvc.perform(get("/books/{id}/ratings", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.reviewCount").value(2))
+      .andExpect(jsonPath("$.averageScore").value(4.25))
+      .andExpect(jsonPath("$.histogram[1].score").value(4.5))
+      .andExpect(jsonPath("$.histogram[1].count").value(1)
+    );
+  }
+
+  @Test
+  void getBookRatings_ShouldReturnNotFound_WhenBookNotExists() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    when(bookService.findRatings(bookId)).thenThrow(new ResourceNotFoundException("Book not found"));
+
+    mockMvc.perform(get("/books/{id}/ratings", bookId).with(user("testuser")))
+      .andExpect(status().isNotFound()
+    );
+  }
+
   @Test
   void createBook_ShouldReturnCreatedBook_WhenValidRequest() throws Exception {
     UUID authorId = UUID.randomUUID();
@@ -134,7 +198,7 @@ class BookControllerTest {
       "Dom Casmurro",
       "A obra narra a vida de Bento Santiago...",
       256,
-      null, null, null, null, null
+      null, null, null, null, null, 0, null
     );
 
     when(bookService.save(any(Book.class), eq(authorId), eq(List.of(genre1Id, genre2Id))))
@@ -194,7 +258,7 @@ class BookControllerTest {
       "Dom Casmurro - Updated",
       "Updated synopsis...",
       300,
-      null, null, null, null, null
+      null, null, null, null, null, 0, null
     );
 
     when(bookService.update(eq(bookId), any(Book.class), eq(authorId), eq(List.of(genre1Id, genre2Id))))
@@ -252,7 +316,7 @@ class BookControllerTest {
       "Novo Título",
       "A obra narra a vida de Bento Santiago...",
       256,
-      null, null, null, null, null
+      null, null, null, null, null, 0, null
     );
 
     when(bookService.partialUpdate(eq(bookId), any(Book.class), isNull(), isNull()))
@@ -301,7 +365,7 @@ class BookControllerTest {
       null,
       null, null,
       "https://example.com/new-cover.jpg",
-      null, null
+      null, null, 0, null
     );
 
     MockMultipartFile cover = new MockMultipartFile(
@@ -394,11 +458,12 @@ class BookControllerTest {
     BookDTO dto = new BookDTO(
       UUID.randomUUID(),
       "Dom Casmurro",
-      null, null, null, null, null, null, null
+      null, null, null, null, null, null, null, 0, null
     );
     Page<BookDTO> page = new PageImpl<>(List.of(dto));
 
-    when(bookService.findByTitle(eq("Dom"), any(Pageable.class))).thenReturn(page);
+    when(bookService.findAll(eq(new BookFilterDTO("Dom", null, null, null, null, null)), any(Pageable.class), anyLong()))
+      .thenReturn(page);
 
     mockMvc.perform(get("/books").param("title", "Dom").with(user("testuser")))
       .andExpect(status().isOk())
@@ -411,15 +476,264 @@ class BookControllerTest {
     BookDTO dto = new BookDTO(
       UUID.randomUUID(),
       "Dom Casmurro",
-      null, null, null, null, null, null, null
+      null, null, null, null, null, null, null, 0, null
     );
     Page<BookDTO> page = new PageImpl<>(List.of(dto));
 
-    when(bookService.findAll(any(Pageable.class))).thenReturn(page);
+    when(bookService.findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong())).thenReturn(page);
 
     mockMvc.perform(get("/books").with(user("testuser")))
       .andExpect(status().isOk())
       .andExpect(jsonPath("$.content").isArray()
     );
   }
+
+  @Test
+  void getAllBooks_ShouldReturnCursorPage_WhenAfterIsPresent() throws Exception {
+    BookDTO dto = new BookDTO(
+      UUID.randomUUID(),
+      "Dom Casmurro",
+      null, null, null, null, null, null, null, 0, null
+    );
+    CursorPageDTO<BookDTO> page = new CursorPageDTO<>(List.of(dto), 10, true, "next");
+
+    when(bookService.findAllAfter(any(BookFilterDTO.class), eq(""), any(Pageable.class))).thenReturn(page);
+
+    mockMvc.perform(get("/books").param("after", "").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content[0].title").value("Dom Casmurro"))
+      .andExpect(jsonPath("$.hasNext").value(true))
+      .andExpect(jsonPath("$.nextCursor").value("next")
+    );
+
+    verify(bookService, never()).findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong());
+  }
+
+  @Test
+  void getAllBooks_ShouldReturn400_WhenCursorIsInvalid() throws Exception {
+    when(bookService.findAllAfter(any(BookFilterDTO.class), eq("bad"), any(Pageable.class)))
+      .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+    mockMvc.perform(get("/books").param("after", "bad").with(user("testuser")))
+      .andExpect(status().isBadRequest()
+    );
+  }
+
+  @Test
+  void getAllBooks_ShouldPassFilters_WhenAfterIsPresent() throws Exception {
+    final UUID authorId = UUID.randomUUID();
+    final BookFilterDTO filter = new BookFilterDTO("Dom", authorId, null, null, null, "romance");
+
+    when(bookService.findAllAfter(eq(filter), eq(""), any(Pageable.class)))
+      .thenReturn(new CursorPageDTO<>(List.of(), 10, false, null));
+
+    mockMvc.perform(get("/books")
+        .param("after", "")
+        .param("title", "Dom")
+        .param("authorId", authorId.toString())
+        .param("search", "romance")
+        .with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.hasNext").value(false)
+    );
+
+    verify(bookService).findAllAfter(eq(filter), eq(""), any(Pageable.class));
+  }
+
+  @Test
+  void getBookById_ShouldReturnETag_WhenBookExists() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    when(bookService.findVersionedById(bookId)).thenReturn(new VersionedBookDetailDTO(
+      new BookDetailDTO(bookId, "Dom Casmurro", null, 256, null, null, null, null, null, 0, null), "v1"));
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(header().string("ETag", "\"v1\"")
+    );
+
+    verify(bookService, never()).findVersion(any());
+  }
+
+  @Test
+  void getBookById_ShouldReturn304WithoutLoadingBook_WhenETagMatches() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    mockMvc.perform(get("/books/{id}", bookId).header("If-None-Match", "\"v1\"").with(user("testuser")))
+      .andExpect(status().isNotModified())
+      .andExpect(content().string("")
+    );
+
+    verify(bookService, never()).findVersionedById(any());
+  }
+
+  @Test
+  void getBookById_ShouldRefreshCachedBook_WhenItIsBehindTheProbedVersion() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+    final BookDetailDTO book = new BookDetailDTO(bookId, "Dom Casmurro", null, 256, null, null, null, null, null, 0, null);
+
+    when(bookService.findVersionedById(bookId)).thenReturn(new VersionedBookDetailDTO(book, "v0"));
+    when(bookService.refreshVersionedById(bookId)).thenReturn(new VersionedBookDetailDTO(book, "v1"));
+
+    mockMvc.perform(get("/books/{id}", bookId).header("If-None-Match", "\"v0\"").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(header().string("ETag", "\"v1\"")
+    );
+
+    verify(bookService).refreshVersionedById(bookId);
+  }
+
+  @Test
+  void getBookById_ShouldReturn404_WhenVersionProbeFindsNothing() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    when(bookService.findVersion(bookId)).thenThrow(new ResourceNotFoundException("Book not found"));
+
+    mockMvc.perform(get("/books/{id}", bookId).header("If-None-Match", "\"v0\"").with(user("testuser")))
+      .andExpect(status().isNotFound()
+    );
+  }
+
+  @Test
+  void getBookById_ShouldReturn404_WhenBookIsMissing() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    when(bookService.findVersionedById(bookId)).thenThrow(new ResourceNotFoundException("Book not found"));
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(status().isNotFound()
+    );
+  }
+
+  @Test
+  void getAllBooks_ShouldReturnValidators_WhenListing() throws Exception {
+    when(bookService.findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong())).thenReturn(Page.empty());
+
+    mockMvc.perform(get("/books").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(header().string("ETag", ConditionalRequests.weakETag(LISTING_VERSION)))
+      .andExpect(header().exists("Last-Modified")
+    );
+  }
+
+  @Test
+  void getAllBooks_ShouldReturn304_WhenNotModifiedSince() throws Exception {
+    String since = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+      LAST_MODIFIED.plusMinutes(1).atZone(ZoneId.systemDefault()));
+
+    mockMvc.perform(get("/books").header("If-Modified-Since", since).with(user("testuser")))
+      .andExpect(status().isNotModified()
+    );
+
+    verify(bookService, never()).findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong());
+  }
+
+  @Test
+  void getAllBooks_ShouldCombineFilters_WhenSeveralAreGiven() throws Exception {
+    final UUID authorId = UUID.randomUUID();
+    final UUID genreId = UUID.randomUUID();
+    final BookFilterDTO filter = new BookFilterDTO(null, authorId, List.of(genreId), 100, 300, "romance");
+
+    when(bookService.findAll(eq(filter), any(Pageable.class), anyLong())).thenReturn(Page.empty());
+
+    mockMvc.perform(get("/books")
+        .param("title", " ")
+        .param("authorId", authorId.toString())
+        .param("genreIds", genreId.toString())
+        .param("minPageCount", "100")
+        .param("maxPageCount", "300")
+        .param("search", "romance")
+        .with(user("testuser")))
+      .andExpect(status().isOk()
+    );
+
+    verify(bookService).findListingVersion(filter);
+    verify(bookService).findAll(eq(filter), any(Pageable.class), eq(1L));
+  }
+
+  @Test
+  void getAllBooks_ShouldReturn400_WhenPageCountIsNotPositive() throws Exception {
+    mockMvc.perform(get("/books").param("minPageCount", "0").with(user("testuser")))
+      .andExpect(status().isBadRequest()
+    );
+
+    verify(bookService, never()).findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong());
+  }
+
+  @Test
+  void getAllBooks_ShouldReturn400_WhenPageCountRangeIsInverted() throws Exception {
+    when(bookService.findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong()))
+      .thenThrow(new IllegalArgumentException("Minimum page count must not exceed maximum page count"));
+
+    mockMvc.perform(get("/books").param("minPageCount", "300").param("maxPageCount", "100").with(user("testuser")))
+      .andExpect(status().isBadRequest()
+    );
+  }
+
+  // ========== WITHOUT TOTAL TESTS ==========
+
+  @Test
+  void getAllBooks_ShouldReturnSliceWithoutCounting_WhenWithTotalIsFalse() throws Exception {
+    BookDTO dto = new BookDTO(
+      UUID.randomUUID(),
+      "Dom Casmurro",
+      null, null, null, null, null, null, null, 0, null
+    );
+
+    when(bookService.findAllSlice(any(BookFilterDTO.class), any(Pageable.class)))
+      .thenReturn(new SliceImpl<>(List.of(dto), Pageable.ofSize(1), true));
+
+    mockMvc.perform(get("/books").param("withTotal", "false").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content[0].title").value("Dom Casmurro"))
+      .andExpect(jsonPath("$.last").value(false))
+      .andExpect(jsonPath("$.totalElements").doesNotExist()
+    );
+
+    verify(bookService, never()).findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong());
+    verify(bookService, never()).findListingVersion(any(BookFilterDTO.class));
+  }
+
+  @Test
+  void getAllBooks_ShouldApplyFilterToSlice_WhenWithTotalIsFalse() throws Exception {
+    final UUID authorId = UUID.randomUUID();
+
+    when(bookService.findAllSlice(eq(new BookFilterDTO(null, authorId, null, null, null, null)), any(Pageable.class)))
+      .thenReturn(new SliceImpl<>(List.of()));
+
+    mockMvc.perform(get("/books").param("withTotal", "false").param("authorId", authorId.toString())
+        .with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.last").value(true)
+    );
+
+    verify(bookService, never()).findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong());
+  }
+
+  @Test
+  void getAllBooks_ShouldReturnPage_WhenWithTotalIsTrue() throws Exception {
+    when(bookService.findAll(any(BookFilterDTO.class), any(Pageable.class), anyLong())).thenReturn(Page.empty());
+
+    mockMvc.perform(get("/books").param("withTotal", "true").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.totalElements").value(0)
+    );
+
+    verify(bookService, never()).findAllSlice(any(BookFilterDTO.class), any(Pageable.class));
+  }
+
+  @Test
+  void getReviewsForBook_ShouldReturnSlice_WhenWithTotalIsFalse() throws Exception {
+    final UUID bookId = UUID.randomUUID();
+
+    when(reviewService.findSliceByBookID(eq(bookId), any(Pageable.class)))
+      .thenReturn(new SliceImpl<>(List.of()));
+
+    mockMvc.perform(get("/books/{id}/reviews", bookId).param("withTotal", "false").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content").isEmpty()
+    );
+
+    verify(reviewService, never()).findByBookID(any(), any(Pageable.class));
+  }
 }
\ No newline at end of file
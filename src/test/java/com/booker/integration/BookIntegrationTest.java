@@ -1,5 +1,6 @@
 package com.booker.integration;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,12 +34,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 
 import com.booker.DTO.Book.BookCreateDTO;
+import com.booker.DTO.Review.CreateReviewDTO;
+import com.booker.DTO.Review.UpdateReviewDTO;
+import com.booker.DTO.User.UpdateUserDTO;
+import com.booker.config.security.SecurityConstants;
+import com.booker.config.security.UserAccount;
 import com.booker.models.Author;
 import com.booker.models.Book;
 import com.booker.models.Genre;
+import com.booker.models.Review;
+import com.booker.models.User;
 import com.booker.repositories.AuthorRepository;
 import com.booker.repositories.BookRepository;
 import com.booker.repositories.GenreRepository;
+import com.booker.repositories.UserRepository;
+import com.booker.services.JwtService;
+import com.booker.services.ReviewService;
+import com.booker.services.UserService;
 
 import static com.booker.constants.Auth.ADMIN_ROLE;
 
@@ -66,6 +78,18 @@ class BookIntegrationTest {
   @Autowired
   private GenreRepository genreRepository;
 
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ReviewService reviewService;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private JwtService jwtService;
+
   private Author savedAuthor;
   private Genre savedGenre1;
   private Genre savedGenre2;
@@ -95,6 +119,7 @@ class BookIntegrationTest {
   void setUp() {
     // Clear database before each test
     bookRepository.deleteAll();
+    userRepository.deleteAll();
     authorRepository.deleteAll();
     genreRepository.deleteAll();
 
@@ -113,6 +138,27 @@ class BookIntegrationTest {
     savedGenre2 = genreRepository.save(genre2);
   }
 
+  private UUID createBook(String title) throws Exception {
+    BookCreateDTO createRequest = new BookCreateDTO(
+      title,
+      "A obra narra a vida de Bento Santiago...",
+      256,
+      savedAuthor.getId(),
+      List.of(savedGenre1.getId())
+    );
+
+    String createResponse = mockMvc.perform(post("/books").with(user("testuser").roles(ADMIN_ROLE))
+      .contentType(MediaType.APPLICATION_JSON)
+      .content(objectMapper.writeValueAsString(createRequest)))
+      .andExpect(status().isCreated())
+      .andReturn()
+      .getResponse()
+      .getContentAsString()
+    ;
+
+    return UUID.fromString(objectMapper.readTree(createResponse).path("id").asText());
+  }
+
   // ========== CREATE TESTS ==========
 
   @Test
@@ -320,6 +366,104 @@ class BookIntegrationTest {
     );
   }
 
+  @Test
+  void getBookById_ShouldNotServeCachedBook_AfterUpdate() throws Exception {
+    // Given - A book read once, so it is cached
+    UUID bookId = createBook("Dom Casmurro");
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(jsonPath("$.title").value("Dom Casmurro"));
+
+    mockMvc.perform(patch("/books/{id}", bookId).with(user("testuser").roles(ADMIN_ROLE))
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"title\": \"Dom Casmurro - Edição Revisada\"}"))
+      .andExpect(status().isOk());
+
+    // When & Then
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.title").value("Dom Casmurro - Edição Revisada")
+    );
+  }
+
+  @Test
+  void getBookById_ShouldNotServeCachedAuthor_AfterAuthorUpdate() throws Exception {
+    // Given - A book read once, so it is cached
+    UUID bookId = createBook("Dom Casmurro");
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(jsonPath("$.author.name").value("Machado de Assis"));
+
+    mockMvc.perform(patch("/authors/{id}", savedAuthor.getId()).with(user("testuser").roles(ADMIN_ROLE))
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"name\": \"Joaquim Maria Machado de Assis\"}"))
+      .andExpect(status().isOk());
+
+    // When & Then
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.author.name").value("Joaquim Maria Machado de Assis")
+    );
+  }
+
+  @Test
+  void getBookById_ShouldReturn304UntilBookChanges_WhenETagIsSent() throws Exception {
+    // Given
+    UUID bookId = createBook("Dom Casmurro");
+
+    String eTag = mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andReturn()
+      .getResponse()
+      .getHeader("ETag")
+    ;
+
+    // When & Then - unchanged
+    mockMvc.perform(get("/books/{id}", bookId).header("If-None-Match", eTag).with(user("testuser")))
+      .andExpect(status().isNotModified());
+
+    mockMvc.perform(patch("/books/{id}", bookId).with(user("testuser").roles(ADMIN_ROLE))
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"pageCount\": 300}"))
+      .andExpect(status().isOk());
+
+    // When & Then - changed
+    mockMvc.perform(get("/books/{id}", bookId).header("If-None-Match", eTag).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(header().string("ETag", not(eTag)))
+      .andExpect(jsonPath("$.pageCount").value(300)
+    );
+  }
+
+  @Test
+  void getAllBooks_ShouldReturn304UntilListingChanges_WhenETagIsSent() throws Exception {
+    // Given
+    UUID bookId = createBook("Dom Casmurro");
+
+    createBook("Memórias Póstumas de Brás Cubas");
+
+    String eTag = mockMvc.perform(get("/books").with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(header().exists("Last-Modified"))
+      .andReturn()
+      .getResponse()
+      .getHeader("ETag")
+    ;
+
+    mockMvc.perform(get("/books").header("If-None-Match", eTag).with(user("testuser")))
+      .andExpect(status().isNotModified());
+
+    // When - a delete does not move the newest updated_at, but changes the count
+    mockMvc.perform(delete("/books/{id}", bookId).with(user("testuser").roles(ADMIN_ROLE)))
+      .andExpect(status().isNoContent());
+
+    // Then
+    mockMvc.perform(get("/books").header("If-None-Match", eTag).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content", hasSize(1))
+    );
+  }
+
   @Test
   void updateBook_ShouldReturn404_WhenBookNotExists() throws Exception {
     // Given
@@ -339,6 +483,124 @@ class BookIntegrationTest {
     );
   }
 
+  // ========== RATING TESTS ==========
+
+  private User createUser(String username) {
+    User user = new User();
+
+    user.setName(username);
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("hash");
+
+    return userRepository.save(user);
+  }
+
+  @Test
+  void getBookRatings_ShouldFollowReviewWrites() throws Exception {
+    // Given - A book read once, so its details are cached
+    UUID bookId = createBook("Dom Casmurro");
+    User reader = createUser("reader");
+    User critic = createUser("critic");
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(jsonPath("$.reviewCount").value(0))
+      .andExpect(jsonPath("$.averageScore").value(nullValue()));
+
+    // When
+    Review review = reviewService.create(
+      new CreateReviewDTO(new BigDecimal("4.0"), null, "Capitu traiu?", bookId), reader.getId()
+    );
+
+    reviewService.create(new CreateReviewDTO(new BigDecimal("2.5"), null, "Arrastado", bookId), critic.getId());
+    reviewService.update(review.getId(), new UpdateReviewDTO(new BigDecimal("5.0"), null, null));
+
+    // Then
+    mockMvc.perform(get("/books/{id}/ratings", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.reviewCount").value(2))
+      .andExpect(jsonPath("$.averageScore").value(3.75))
+      .andExpect(jsonPath("$.histogram", hasSize(11)))
+      .andExpect(jsonPath("$.histogram[5].count").value(1))
+      .andExpect(jsonPath("$.histogram[8].count").value(0))
+      .andExpect(jsonPath("$.histogram[10].count").value(1));
+
+    mockMvc.perform(get("/books/{id}", bookId).with(user("testuser")))
+      .andExpect(jsonPath("$.reviewCount").value(2))
+      .andExpect(jsonPath("$.averageScore").value(3.75));
+
+    // When - one review deleted, and the other reviewer's account
+    reviewService.delete(review.getId());
+    userService.delete(critic.getId());
+
+    // Then
+    mockMvc.perform(get("/books/{id}/ratings", bookId).with(user("testuser")))
+      .andExpect(jsonPath("$.reviewCount").value(0))
+      .andExpect(jsonPath("$.histogram[*].count", everyItem(is(0))));
+
+    mockMvc.perform(get("/books").with(user("testuser")))
+      .andExpect(jsonPath("$.content[0].reviewCount").value(0)
+    );
+  }
+
+  @Test
+  void getBookRatings_ShouldReturn404_WhenBookNotExists() throws Exception {
+    mockMvc.perform(get("/books/{id}/ratings", UUID.randomUUID()).with(user("testuser")))
+      .andExpect(status().isNotFound()
+    );
+  }
+
+  // ========== REVIEW LISTING TESTS ==========
+
+  @Test
+  void getReviewsForBook_ShouldListNewestFirst_ByDefault() throws Exception {
+    // Given
+    UUID bookId = createBook("Dom Casmurro");
+
+    reviewService.create(new CreateReviewDTO(new BigDecimal("4.0"), null, "Primeira", bookId), createUser("first").getId());
+    reviewService.create(new CreateReviewDTO(new BigDecimal("3.0"), null, "Segunda", bookId), createUser("second").getId());
+
+    // When & Then
+    mockMvc.perform(get("/books/{id}/reviews", bookId).with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content[*].text", contains("Segunda", "Primeira")))
+      .andExpect(jsonPath("$.content[0].user.username").value("second"));
+
+    mockMvc.perform(get("/books/{id}/reviews", bookId).param("sort", "mostLiked").param("withTotal", "false")
+        .with(user("testuser")))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.content", hasSize(2))
+    );
+  }
+
+  @Test
+  void getReviewsForBook_ShouldReturn400_WhenSortIsNotSupported() throws Exception {
+    UUID bookId = createBook("Dom Casmurro");
+
+    mockMvc.perform(get("/books/{id}/reviews", bookId).param("sort", "score,desc").with(user("testuser")))
+      .andExpect(status().isBadRequest()
+    );
+  }
+
+  // ========== AUTHENTICATION TESTS ==========
+
+  @Test
+  void getAllBooks_ShouldRejectAccessToken_AfterTokenVersionChanges() throws Exception {
+    // Given - A token accepted from its claims alone
+    User reader = createUser("reader");
+    String bearer = SecurityConstants.BEARER_PREFIX + jwtService.generateAccessToken(UserAccount.from(reader));
+
+    mockMvc.perform(get("/books").header(SecurityConstants.HEADER_AUTHORIZATION, bearer))
+      .andExpect(status().isOk());
+
+    // When - Renaming the user bumps users.token_version
+    userService.update(reader.getId(), new UpdateUserDTO(null, "leitor", null, null));
+
+    // Then
+    mockMvc.perform(get("/books").header(SecurityConstants.HEADER_AUTHORIZATION, bearer))
+      .andExpect(status().isForbidden());
+  }
+
   // ========== DELETE TESTS ==========
 
   @Test
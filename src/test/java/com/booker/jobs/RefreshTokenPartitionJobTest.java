@@ -0,0 +1,66 @@
+package com.booker.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.booker.services.AuthenticationService;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPartitionJobTest {
+  @Mock
+  private AuthenticationService authenticationService;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private RefreshTokenPartitionJob job;
+
+  @BeforeEach
+  void setUp() {
+    job = new RefreshTokenPartitionJob(authenticationService, registry);
+
+    ReflectionTestUtils.setField(job, "daysAhead", 14);
+  }
+
+  // ========== MAINTENANCE TESTS ==========
+
+  @Test
+  void maintain_ShouldCreateAheadAndDropExpired_AndCountPartitions() {
+    // Given
+    when(authenticationService.createRefreshTokenPartitions(14)).thenReturn(1);
+    when(authenticationService.dropExpiredRefreshTokenPartitions()).thenReturn(2);
+
+    // When
+    job.maintain();
+
+    // Then
+    assertEquals(1, registry.get("refresh_tokens.partitions.created").counter().count());
+    assertEquals(2, registry.get("refresh_tokens.partitions.dropped").counter().count());
+    assertEquals(1, registry.get("refresh_tokens.partitions.duration").timer().count());
+  }
+
+  @Test
+  void maintain_ShouldStillCreatePartitions_WhenDropFails() {
+    // Given
+    when(authenticationService.dropExpiredRefreshTokenPartitions())
+      .thenThrow(new CannotAcquireLockException("lock timeout"));
+    when(authenticationService.createRefreshTokenPartitions(14)).thenReturn(1);
+
+    // When
+    assertDoesNotThrow(job::maintain);
+
+    // Then
+    verify(authenticationService).createRefreshTokenPartitions(14);
+    assertEquals(1, registry.get("refresh_tokens.partitions.created").counter().count());
+    assertEquals(0, registry.get("refresh_tokens.partitions.dropped").counter().count());
+  }
+}
\ No newline at end of file
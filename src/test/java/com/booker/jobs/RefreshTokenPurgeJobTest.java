@@ -0,0 +1,69 @@
+package com.booker.jobs;
+
+import java.time.Instant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.booker.services.AuthenticationService;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeJobTest {
+  @Mock
+  private AuthenticationService authenticationService;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private RefreshTokenPurgeJob job;
+
+  @BeforeEach
+  void setUp() {
+    job = new RefreshTokenPurgeJob(authenticationService, registry);
+
+    ReflectionTestUtils.setField(job, "batchSize", 100);
+    ReflectionTestUtils.setField(job, "maxBatches", 3);
+    ReflectionTestUtils.setField(job, "revokedRetention", 604800000L);
+  }
+
+  // ========== PURGE TESTS ==========
+
+  @Test
+  void purge_ShouldStopAtFirstPartialBatch_AndCountPurgedRows() {
+    // Given
+    when(authenticationService.purgeRevokedRefreshTokens(any(Instant.class), eq(100)))
+      .thenReturn(100, 40);
+
+    // When
+    job.purge();
+
+    // Then
+    verify(authenticationService, times(2)).purgeRevokedRefreshTokens(any(Instant.class), eq(100));
+    assertEquals(140, registry.get("refresh_tokens.purged").counter().count());
+    assertEquals(1, registry.get("refresh_tokens.purge.duration").timer().count());
+  }
+
+  @Test
+  void purge_ShouldStopAtMaxBatches_WhenEveryBatchIsFull() {
+    // Given
+    when(authenticationService.purgeRevokedRefreshTokens(any(Instant.class), eq(100)))
+      .thenReturn(100);
+
+    // When
+    job.purge();
+
+    // Then
+    verify(authenticationService, times(3)).purgeRevokedRefreshTokens(any(Instant.class), eq(100));
+    assertEquals(300, registry.get("refresh_tokens.purged").counter().count());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.booker.repositories;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.flywaydb.core.Flyway;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.sun.management.ThreadMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booker.DTO.Book.BookDTO;
+import com.booker.config.JPAConfig;
+import com.booker.mappers.AuthorMapper;
+import com.booker.mappers.BookMapper;
+import com.booker.mappers.GenreMapper;
+import com.booker.models.Book;
+
+// Compares the listing path before user-006 (ids paged, then a fetch join, then BookMapper) against the
+// SQL projection path. Tagged so the default build skips it; run with: mvn test -Pbenchmark
+@Slf4j @Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.show-sql=false") @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test") @Testcontainers
+@Import({ JPAConfig.class, BookMapper.class, AuthorMapper.class, GenreMapper.class })
+class BookListingBenchmarkTest {
+  private static final int BOOKS = 5_000;
+  private static final int PAGE_SIZE = 100;
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int MEASURED_ITERATIONS = 50;
+
+  @Container
+  static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:18.1"));
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+  }
+
+  @BeforeAll
+  static void setupDatabase() {
+    Flyway flyway = Flyway.configure()
+      .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+      .locations("classpath:db/migration")
+      .load()
+    ;
+
+    flyway.migrate();
+  }
+
+  private record Result(double micros, long bytes) {}
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private BookMapper bookMapper;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private void seedCatalog() {
+    jdbcTemplate.update("INSERT INTO authors (name) SELECT 'Autor ' || n FROM generate_series(1, 100) AS n");
+    jdbcTemplate.update("INSERT INTO genres (name) SELECT 'Gênero ' || n FROM generate_series(1, 20) AS n");
+    jdbcTemplate.update("""
+      INSERT INTO books (title, synopsis, page_count, author_id)
+      SELECT 'Livro ' || md5(n::text), repeat('Sinopse ', 40), 100 + n % 500, a.id
+      FROM generate_series(1, ?) AS n
+      JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS i FROM authors) a ON a.i = n % 100
+      """, BOOKS);
+    jdbcTemplate.update("""
+      INSERT INTO book_genres (book_id, genre_id)
+      SELECT b.id, g.id FROM books b
+      JOIN (SELECT id, row_number() OVER (ORDER BY id) AS i FROM genres) g ON g.i <= 3
+      """);
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  // BookService.findAll as of user-005: a page of ids and its count, then the books with their
+  // author and genres in one fetch join, mapped to DTOs in page order
+  private List<BookDTO> findAllThroughEntities(Pageable pageable) {
+    EntityManager em = entityManager.getEntityManager();
+
+    List<UUID> ids = em.createQuery("SELECT b.id FROM Book b ORDER BY b.title", UUID.class)
+      .setFirstResult((int) pageable.getOffset())
+      .setMaxResults(pageable.getPageSize())
+      .getResultList();
+
+    Map<UUID, Book> books = em.createQuery(
+        "SELECT DISTINCT b FROM Book b JOIN FETCH b.author LEFT JOIN FETCH b.genres WHERE b.id IN :ids", Book.class
+      )
+      .setParameter("ids", ids)
+      .getResultList().stream()
+      .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+    return PageableExecutionUtils.getPage(
+      ids.stream().map(id -> bookMapper.toDTO(books.get(id))).toList(),
+      pageable,
+      () -> em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult()
+    ).getContent();
+  }
+
+  private Result measure(Supplier<List<BookDTO>> listing) {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      listing.get();
+      entityManager.clear();
+    }
+
+    long elapsed = 0;
+    long allocated = 0;
+
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+
+      assertThat(listing.get()).hasSize(PAGE_SIZE);
+
+      elapsed += System.nanoTime() - start;
+      allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+      entityManager.clear();
+    }
+
+    return new Result(elapsed / 1_000.0 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+  }
+
+  @Test
+  void findAllAsDTO_ShouldAllocateLessThanEntityMapping() {
+    // Given
+    seedCatalog();
+
+    Pageable pageable = PageRequest.of(10, PAGE_SIZE, Sort.by("title"));
+
+    // When
+    Result entities = measure(() -> findAllThroughEntities(pageable));
+    Result projection = measure(() -> bookRepository.findAllAsDTO(pageable).getContent());
+
+    log.info(
+      "Book listing ({} rows/page): ids+fetch join+mapper {} us, {} KB | SQL projection {} us, {} KB",
+      PAGE_SIZE, Math.round(entities.micros()), entities.bytes() / 1024,
+      Math.round(projection.micros()), projection.bytes() / 1024
+    );
+
+    // Then - latency is reported only; allocation is stable enough to assert on
+    assertThat(projection.bytes()).isLessThan(entities.bytes());
+  }
+}
\ No newline at end of file
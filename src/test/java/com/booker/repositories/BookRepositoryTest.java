@@ -1,9 +1,25 @@
 package com.booker.repositories;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
 
 import org.flywaydb.core.Flyway;
 
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -15,6 +31,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -25,10 +44,18 @@ import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.booker.DTO.Book.BookDTO;
+import com.booker.DTO.Book.BookFilterDTO;
 import com.booker.config.JPAConfig;
 import com.booker.models.Author;
 import com.booker.models.Book;
+import com.booker.models.Genre;
+import com.booker.models.Review;
+import com.booker.models.User;
+import com.booker.repositories.projections.ListingVersion;
+import com.booker.repositories.specifications.BookSpecifications;
 
 @DataJpaTest @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test") @Testcontainers
@@ -45,6 +72,19 @@ class BookRepositoryTest {
     registry.add("spring.flyway.url", postgres::getJdbcUrl);
     registry.add("spring.flyway.user", postgres::getUsername);
     registry.add("spring.flyway.password", postgres::getPassword);
+    registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", CapturingStatementInspector.class::getName);
+  }
+
+  // Records the SQL Hibernate prepares, so plans are checked against what the repository really sends
+  public static class CapturingStatementInspector implements StatementInspector {
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+
+      return sql;
+    }
   }
 
   @BeforeAll
@@ -107,7 +147,7 @@ class BookRepositoryTest {
   // ========== TESTS ==========
 
   @Test
-  void findByTitleContainingIgnoreCase_ShouldReturnBooksMatchingTitle_WhenTitleExists() {
+  void titleContains_ShouldReturnBooksMatchingTitle_WhenTitleExists() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance brasileiro", 1L);
     createAndSaveBook("O Cortiço", "Romance naturalista", 1L);
@@ -116,7 +156,7 @@ class BookRepositoryTest {
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching with different case
-    Page<Book> result = bookRepository.findByTitleContainingIgnoreCase("dom", pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.titleContains("dom"), pageable);
 
     // Then
     assertThat(result.getContent()).hasSize(1);
@@ -124,14 +164,14 @@ class BookRepositoryTest {
   }
 
   @Test
-  void findByTitleContainingIgnoreCase_ShouldBeCaseInsensitive() {
+  void titleContains_ShouldBeCaseInsensitive() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance brasileiro", 1L);
 
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching with different case
-    Page<Book> result = bookRepository.findByTitleContainingIgnoreCase("DOM", pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.titleContains("DOM"), pageable);
 
     // Then
     assertThat(result.getContent()).hasSize(1);
@@ -139,7 +179,64 @@ class BookRepositoryTest {
   }
 
   @Test
-  void findByAuthorId_ShouldReturnBooksFromSpecificAuthor_WhenAuthorExists() {
+  void titleContains_ShouldMatchFragmentInsideWord() {
+    // Given
+    createAndSaveBook("Dom Casmurro", "Romance brasileiro", 1L);
+
+    Pageable pageable = PageRequest.of(0, 10);
+
+    // When - Searching for a fragment in the middle of a word
+    Page<Book> result = bookRepository.findAll(BookSpecifications.titleContains("ASMU"), pageable);
+
+    // Then
+    assertThat(result.getContent()).extracting(Book::getTitle).containsExactly("Dom Casmurro");
+  }
+
+  @Test
+  void titleContains_ShouldBeServedByTrigramIndex() {
+    // Given - A catalog large enough for the planner to prefer an index over a sequential scan
+    Author author = createAndSaveAuthor();
+    EntityManager em = entityManager.getEntityManager();
+
+    em.createNativeQuery("""
+      INSERT INTO books (title, synopsis, page_count, author_id)
+      SELECT 'Livro ' || md5(n::text), 'Sinopse ' || n, 100, :authorId
+      FROM generate_series(1, 50000) AS n
+      """)
+      .setParameter("authorId", author.getId())
+      .executeUpdate()
+    ;
+
+    createAndSaveBookWithAuthor("Dom Casmurro", "Romance brasileiro", author);
+    em.createNativeQuery("ANALYZE books").executeUpdate();
+
+    // When - Explaining the statement titleContains generates, bound to the pattern it passes
+    CapturingStatementInspector.STATEMENTS.clear();
+    bookRepository.findAll(BookSpecifications.titleContains("casmurro"));
+
+    String sql = CapturingStatementInspector.STATEMENTS.getLast();
+    List<String> plan = new ArrayList<>();
+
+    em.unwrap(Session.class).doWork(connection -> {
+      try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+        explain.setString(1, "%casmurro%");
+
+        try (ResultSet rows = explain.executeQuery()) {
+          while (rows.next()) plan.add(rows.getString(1));
+        }
+      }
+    });
+
+    // Then
+    assertThat(sql).containsIgnoringCase("ilike");
+    assertThat(String.join("\n", plan))
+      .contains("Index Scan on idx_books_title_trgm")
+      .doesNotContain("Seq Scan")
+    ;
+  }
+
+  @Test
+  void byAuthor_ShouldReturnBooksFromSpecificAuthor_WhenAuthorExists() {
     // Given
     Author author1 = createAndSaveAuthor();
     Author author2 = createAndSaveAuthor();
@@ -151,7 +248,7 @@ class BookRepositoryTest {
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching for books by author1's ID
-    Page<Book> result = bookRepository.findByAuthorId(author1.getId(), pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.byAuthor(author1.getId()), pageable);
 
     // Then
     assertThat(result.getContent()).hasSize(2);
@@ -162,7 +259,7 @@ class BookRepositoryTest {
   }
 
   @Test
-  void findByTitleOrSynopsisContaining_ShouldSearchInBothFields() {
+  void matchingText_ShouldSearchInBothFields() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance sobre ciúme", 1L);
     createAndSaveBook("O Cortiço", "Romance naturalista sobre moradia", 2L);
@@ -171,22 +268,36 @@ class BookRepositoryTest {
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching for "moradia" which is in the synopsis of "O Cortiço"
-    Page<Book> result = bookRepository.findByTitleOrSynopsisContaining("moradia", pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.matchingText("moradia"), pageable);
 
     // Then
-    assertThat(result.getContent()).hasSize(1);
-    assertThat(result.getContent().get(0).getTitle()).isEqualTo("O Cortiço");
+    assertThat(result.getContent()).extracting(Book::getTitle).containsExactly("O Cortiço");
+  }
+
+  @Test
+  void matchingText_ShouldRankTitleMatchesAboveSynopsisMatches() {
+    // Given
+    createAndSaveBook("Helena", "Drama familiar sobre ciúme", 1L);
+    createAndSaveBook("Ciúme", "Romance curto", 1L);
+
+    Pageable pageable = PageRequest.of(0, 10);
+
+    // When
+    Page<Book> result = bookRepository.findAll(BookSpecifications.matchingText("ciúme"), pageable);
+
+    // Then
+    assertThat(result.getContent()).extracting(Book::getTitle).containsExactly("Ciúme", "Helena");
   }
 
   @Test
-  void findByTitleOrSynopsisContaining_ShouldReturnEmptyPage_WhenNoMatch() {
+  void matchingText_ShouldReturnEmptyPage_WhenNoMatch() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance brasileiro", 1L);
 
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching for a term that doesn't exist
-    Page<Book> result = bookRepository.findByTitleOrSynopsisContaining("ficção científica", pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.matchingText("ficção científica"), pageable);
 
     // Then
     assertThat(result.getContent()).isEmpty();
@@ -256,30 +367,553 @@ class BookRepositoryTest {
   // ========== SEARCH TESTS ==========
 
   @Test
-  void findByAuthorId_ShouldReturnEmptyPage_WhenAuthorHasNoBooks() {
+  void byAuthor_ShouldReturnEmptyPage_WhenAuthorHasNoBooks() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance", 1L);
 
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching for books by non-existent author
-    Page<Book> result = bookRepository.findByAuthorId(UUID.randomUUID(), pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.byAuthor(UUID.randomUUID()), pageable);
 
     // Then
     assertThat(result.getContent()).isEmpty();
   }
 
   @Test
-  void findByTitleContainingIgnoreCase_ShouldReturnEmptyPage_WhenNoMatch() {
+  void titleContains_ShouldReturnEmptyPage_WhenNoMatch() {
     // Given
     createAndSaveBook("Dom Casmurro", "Romance brasileiro", 1L);
 
     Pageable pageable = PageRequest.of(0, 10);
 
     // When - Searching for non-existent title
-    Page<Book> result = bookRepository.findByTitleContainingIgnoreCase("inexistente", pageable);
+    Page<Book> result = bookRepository.findAll(BookSpecifications.titleContains("inexistente"), pageable);
 
     // Then
     assertThat(result.getContent()).isEmpty();
   }
+
+  // ========== KEYSET TESTS ==========
+
+  @Test
+  void findBy_ShouldWalkAllBooksWithoutGapsOrDuplicates_WhenSeekingPastCursor() {
+    // Given - duplicate titles force the id tiebreaker
+    Author author = createAndSaveAuthor();
+
+    for (String title : List.of("Iracema", "Dom Casmurro", "Iracema", "A Moreninha", "Dom Casmurro"))
+      createAndSaveBookWithAuthor(title, "Romance", author);
+
+    Sort sort = Sort.by(Sort.Direction.DESC, "title").and(Sort.by(Sort.Direction.DESC, "id"));
+    List<Book> expected = bookRepository.findAll(sort);
+    List<Book> walked = new ArrayList<>();
+    Specification<Book> seek = Specification.unrestricted();
+
+    // When
+    while (true) {
+      List<Book> page = bookRepository.findBy(seek, query -> query.sortBy(sort).limit(2).all());
+
+      if (page.isEmpty()) break;
+
+      walked.addAll(page);
+
+      Book last = page.getLast();
+
+      seek = BookSpecifications.after(sort, Map.of("title", last.getTitle(), "id", last.getId()));
+    }
+
+    // Then
+    assertThat(walked).extracting(Book::getId).containsExactlyElementsOf(expected.stream().map(Book::getId).toList());
+    assertThat(walked).extracting(Book::getTitle)
+      .containsExactly("Iracema", "Iracema", "Dom Casmurro", "Dom Casmurro", "A Moreninha");
+  }
+
+  @Test
+  void findBy_ShouldSeekWithinFilter_WhenSearchIsCombinedWithCursor() {
+    // Given - the sort, not the search rank, has to drive the seek
+    Author author = createAndSaveAuthor();
+
+    createAndSaveBookWithAuthor("Ciúme", "Drama", author);
+    createAndSaveBookWithAuthor("A Moreninha", "Romance sobre ciúme e amor", author);
+    createAndSaveBookWithAuthor("Helena", "Drama familiar sobre ciúme", author);
+    createAndSaveBookWithAuthor("Iracema", "Romance indianista", author);
+
+    Sort sort = Sort.by("title").and(Sort.by("id"));
+    Specification<Book> filter = matching(null, author.getId(), "ciúme");
+    List<Book> first = bookRepository.findBy(filter, query -> query.sortBy(sort).limit(2).all());
+    Book last = first.getLast();
+
+    // When
+    List<Book> next = bookRepository.findBy(
+      filter.and(BookSpecifications.after(sort, Map.of("title", last.getTitle(), "id", last.getId()))),
+      query -> query.sortBy(sort).limit(2).all()
+    );
+
+    // Then
+    assertThat(first).extracting(Book::getTitle).containsExactly("A Moreninha", "Ciúme");
+    assertThat(next).extracting(Book::getTitle).containsExactly("Helena");
+  }
+
+  // ========== PAGINATION TESTS ==========
+
+  @Test
+  void pagingOverCollectionFetch_ShouldFail_InsteadOfPaginatingInMemory() {
+    // Given
+    EntityManager em = entityManager.getEntityManager();
+
+    // When & Then - guards against HHH90003004 coming back on any paged fetch join
+    assertThatThrownBy(() -> em.createQuery("SELECT b FROM Book b LEFT JOIN FETCH b.genres", Book.class)
+      .setMaxResults(10)
+      .getResultList())
+      .hasMessageContaining("fail_on_pagination_over_collection_fetch");
+  }
+
+  // ========== FETCH PLAN TESTS ==========
+
+  private Author seedCatalog() {
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+    Genre classic = entityManager.persistAndFlush(new Genre("Clássico", null));
+    Author first = null;
+
+    for (int a = 0; a < 4; a++) {
+      Author author = createAndSaveAuthor();
+
+      if (first == null) first = author;
+
+      for (int b = 0; b < 12; b++) {
+        Book book = createAndSaveBookWithAuthor("Romance " + a + "-" + b, "Um romance", author);
+
+        book.setGenres(Set.of(romance, classic));
+        entityManager.persistAndFlush(book);
+      }
+    }
+
+    return first;
+  }
+
+  // Runs a listing on a clean persistence context, touching what BookMapper.toDTO reads
+  private long countStatements(Function<Pageable, List<Book>> listing, int pageSize) {
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+
+    entityManager.clear();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    List<Book> books = listing.apply(PageRequest.of(0, pageSize, Sort.by("title")));
+
+    books.forEach(book -> {
+      book.getAuthor().getName();
+      book.getGenres().forEach(Genre::getName);
+    });
+
+    assertThat(books).hasSize(pageSize);
+
+    return statistics.getPrepareStatementCount();
+  }
+
+  private long[] countStatementsForSmallAndLargePages(Function<Pageable, List<Book>> listing) {
+    return new long[] { countStatements(listing, 2), countStatements(listing, 10) };
+  }
+
+  @Test
+  void findBy_ShouldUseConstantStatements_RegardlessOfPageSize() {
+    // Given
+    seedCatalog();
+
+    // When
+    long[] counts = countStatementsForSmallAndLargePages(
+      pageable -> bookRepository.findBy(
+        Specification.unrestricted(),
+        query -> query.sortBy(pageable.getSort()).limit(pageable.getPageSize()).all()));
+
+    // Then - page, batched authors and batched genres
+    assertThat(counts).containsExactly(3, 3);
+  }
+
+  // ========== DTO PROJECTION TESTS ==========
+
+  @Test
+  void findAllAsDTO_ShouldBuildDTOsWithAggregatedGenres() {
+    // Given
+    Author author = createAndSaveAuthor();
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+    Genre classic = entityManager.persistAndFlush(new Genre("Clássico", null));
+    Book book = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", author);
+
+    book.setGenres(Set.of(romance, classic));
+    entityManager.persistAndFlush(book);
+    createAndSaveBookWithAuthor("A Moreninha", "Romance", author);
+
+    // When
+    Page<BookDTO> result = bookRepository.findAllAsDTO(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "title")));
+
+    // Then
+    assertThat(result.getTotalElements()).isEqualTo(2);
+    assertThat(result.getContent()).extracting(BookDTO::title).containsExactly("Dom Casmurro", "A Moreninha");
+
+    BookDTO dto = result.getContent().getFirst();
+
+    assertThat(dto.id()).isEqualTo(book.getId());
+    assertThat(dto.authorName()).isEqualTo("Machado de Assis");
+    assertThat(dto.pageCount()).isEqualTo(200);
+    assertThat(dto.genres()).containsExactly("Clássico", "Romance");
+    assertThat(dto.createdAt()).isNotNull();
+    assertThat(result.getContent().getLast().genres()).isEmpty();
+  }
+
+  @Test
+  void findAllAsDTO_ShouldPageWithCount_WhenMoreRowsExist() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    for (String title : List.of("Iracema", "Dom Casmurro", "A Moreninha"))
+      createAndSaveBookWithAuthor(title, "Romance", author);
+
+    // When
+    Page<BookDTO> result = bookRepository.findAllAsDTO(PageRequest.of(1, 2, Sort.by("title")));
+
+    // Then
+    assertThat(result.getTotalElements()).isEqualTo(3);
+    assertThat(result.getContent()).extracting(BookDTO::title).containsExactly("Iracema");
+  }
+
+  @Test
+  void findAllAsDTO_ShouldRejectUnknownSortProperty() {
+    // When & Then
+    assertThatThrownBy(() -> bookRepository.findAllAsDTO(PageRequest.of(0, 10, Sort.by("synopsis; DROP TABLE books"))))
+      .hasMessageContaining("Invalid sort property");
+  }
+
+  // ========== SLICE TESTS ==========
+
+  @Test
+  void findSliceAsDTO_ShouldReportNextSlice_WhenMoreRowsExist() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    for (String title : List.of("Iracema", "Dom Casmurro", "A Moreninha"))
+      createAndSaveBookWithAuthor(title, "Romance", author);
+
+    // When
+    Slice<BookDTO> first = bookRepository.findSliceAsDTO(PageRequest.of(0, 2, Sort.by("title")));
+    Slice<BookDTO> last = bookRepository.findSliceAsDTO(PageRequest.of(1, 2, Sort.by("title")));
+
+    // Then
+    assertThat(first.hasNext()).isTrue();
+    assertThat(first.getContent()).extracting(BookDTO::title).containsExactly("A Moreninha", "Dom Casmurro");
+    assertThat(last.hasNext()).isFalse();
+    assertThat(last.getContent()).extracting(BookDTO::title).containsExactly("Iracema");
+  }
+
+  // ========== FILTER TESTS ==========
+
+  private Specification<Book> matching(String title, UUID authorId, String search) {
+    return BookSpecifications.matching(new BookFilterDTO(title, authorId, null, null, null, search));
+  }
+
+  private Book createAndSaveBook(String title, int pageCount, Author author, Genre... genres) {
+    Book book = createAndSaveBookWithAuthor(title, "Romance", author);
+
+    book.setPageCount(pageCount);
+    book.setGenres(Set.of(genres));
+
+    return entityManager.persistAndFlush(book);
+  }
+
+  @Test
+  void matching_ShouldApplyEveryGivenFilter() {
+    // Given
+    Author machado = createAndSaveAuthor();
+    Author aluisio = createAndSaveAuthor();
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+    Genre drama = entityManager.persistAndFlush(new Genre("Drama", null));
+
+    createAndSaveBook("Memórias Póstumas de Brás Cubas", 250, machado, romance);
+    createAndSaveBook("Memórias de um Sargento de Milícias", 250, aluisio, romance);
+    createAndSaveBook("Memorial de Aires", 250, machado, drama);
+    createAndSaveBook("Memórias Curtas", 90, machado, romance);
+    createAndSaveBook("Dom Casmurro", 250, machado, romance);
+
+    BookFilterDTO filter = new BookFilterDTO("memórias", machado.getId(), List.of(romance.getId()), 100, 300, null);
+
+    // When
+    List<Book> result = bookRepository.findAll(BookSpecifications.matching(filter));
+
+    // Then
+    assertThat(result).extracting(Book::getTitle).containsExactly("Memórias Póstumas de Brás Cubas");
+  }
+
+  @Test
+  void matching_ShouldReturnBookOnce_WhenItIsInSeveralRequestedGenres() {
+    // Given
+    Author author = createAndSaveAuthor();
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+    Genre classic = entityManager.persistAndFlush(new Genre("Clássico", null));
+    Genre poetry = entityManager.persistAndFlush(new Genre("Poesia", null));
+
+    createAndSaveBook("Dom Casmurro", 250, author, romance, classic);
+    createAndSaveBook("Helena", 250, author, classic);
+    createAndSaveBook("Ocidentais", 250, author, poetry);
+
+    BookFilterDTO filter = new BookFilterDTO(null, null, List.of(romance.getId(), classic.getId()), null, null, null);
+
+    // When
+    Page<Book> result = bookRepository.findAll(BookSpecifications.matching(filter), PageRequest.of(0, 10, Sort.by("title")));
+
+    // Then
+    assertThat(result.getTotalElements()).isEqualTo(2);
+    assertThat(result.getContent()).extracting(Book::getTitle).containsExactly("Dom Casmurro", "Helena");
+  }
+
+  @Test
+  void matching_ShouldTreatLikeWildcardsInTitleLiterally() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    createAndSaveBook("100% Machado", 250, author);
+    createAndSaveBook("1000 Poemas", 250, author);
+
+    // When
+    List<Book> result = bookRepository.findAll(matching("100%", null, null));
+
+    // Then
+    assertThat(result).extracting(Book::getTitle).containsExactly("100% Machado");
+  }
+
+  @Test
+  void matching_ShouldBoundPageCountOnEitherSide() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    createAndSaveBook("Curto", 90, author);
+    createAndSaveBook("Médio", 250, author);
+    createAndSaveBook("Longo", 900, author);
+
+    // When
+    List<Book> atLeast = bookRepository.findAll(BookSpecifications.pageCountBetween(250, null), Sort.by("pageCount"));
+    List<Book> atMost = bookRepository.findAll(BookSpecifications.pageCountBetween(null, 250), Sort.by("pageCount"));
+
+    // Then
+    assertThat(atLeast).extracting(Book::getTitle).containsExactly("Médio", "Longo");
+    assertThat(atMost).extracting(Book::getTitle).containsExactly("Curto", "Médio");
+  }
+
+  @Test
+  void matching_ShouldRankTitleMatchesFirst_WhenSearchingUnsorted() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    createAndSaveBookWithAuthor("A Moreninha", "Romance sobre ciúme e amor", author);
+    createAndSaveBookWithAuthor("Ciúme", "Drama", author);
+    createAndSaveBookWithAuthor("Helena", "Drama familiar", author);
+
+    // When
+    Page<Book> result = bookRepository.findAll(matching(null, author.getId(), "ciúme"), PageRequest.of(0, 10));
+
+    // Then
+    assertThat(result.getTotalElements()).isEqualTo(2);
+    assertThat(result.getContent()).extracting(Book::getTitle).containsExactly("Ciúme", "A Moreninha");
+  }
+
+  @Test
+  void matching_ShouldUseConstantStatements_RegardlessOfPageSize() {
+    // Given
+    Author author = seedCatalog();
+    Specification<Book> spec = matching("romance", author.getId(), "romance");
+
+    // When
+    long[] counts = countStatementsForSmallAndLargePages(
+      pageable -> bookRepository.findBy(spec, query -> query.project("author").page(pageable)).getContent());
+
+    // Then - page, count and batched genres
+    assertThat(counts).containsExactly(3, 3);
+  }
+
+  // ========== VERSION PROBE TESTS ==========
+
+  @Test
+  void findVersionById_ShouldChange_WhenGenresChange() {
+    // Given
+    Author author = createAndSaveAuthor();
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+    Book book = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", author);
+
+    String before = bookRepository.findVersionById(book.getId()).orElseThrow();
+
+    // When
+    book.setGenres(Set.of(romance));
+    entityManager.persistAndFlush(book);
+
+    // Then
+    assertThat(bookRepository.findVersionById(book.getId())).isPresent().get().isNotEqualTo(before);
+    assertThat(bookRepository.findVersionById(book.getId())).isEqualTo(bookRepository.findVersionById(book.getId()));
+  }
+
+  @Test
+  void findVersionById_ShouldReturnEmpty_WhenBookDoesNotExist() {
+    // When & Then
+    assertThat(bookRepository.findVersionById(UUID.randomUUID())).isEmpty();
+  }
+
+  @Test
+  void findListingVersion_ShouldCountOnlyFilteredBooks() {
+    // Given
+    Author author = createAndSaveAuthor();
+
+    createAndSaveBookWithAuthor("Dom Casmurro", "Romance sobre ciúme", author);
+    createAndSaveBookWithAuthor("Helena", "Drama familiar", author);
+    createAndSaveBook("O Cortiço", "Romance naturalista", 2L);
+
+    // When
+    ListingVersion all = bookRepository.findListingVersion(matching(null, null, null));
+    ListingVersion byTitle = bookRepository.findListingVersion(matching("casm", null, null));
+    ListingVersion byAuthor = bookRepository.findListingVersion(matching(null, author.getId(), null));
+    ListingVersion bySearch = bookRepository.findListingVersion(matching(null, null, "romance"));
+    ListingVersion combined = bookRepository.findListingVersion(matching(null, author.getId(), "romance"));
+    ListingVersion none = bookRepository.findListingVersion(matching("inexistente", null, null));
+
+    // Then
+    assertThat(all.getTotal()).isEqualTo(3);
+    assertThat(all.getLastModified()).isNotNull();
+    assertThat(byTitle.getTotal()).isEqualTo(1);
+    assertThat(byAuthor.getTotal()).isEqualTo(2);
+    assertThat(bySearch.getTotal()).isEqualTo(2);
+    assertThat(combined.getTotal()).isEqualTo(1);
+    assertThat(none.getTotal()).isZero();
+  }
+
+  // ========== RATING AGGREGATE TESTS ==========
+
+  private User createAndSaveUser(String username) {
+    User user = new User();
+
+    user.setName(username);
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("hash");
+
+    return entityManager.persistAndFlush(user);
+  }
+
+  // Persists the review directly, without the delta that ReviewService applies
+  private Review createAndSaveReview(User user, Book book, String score) {
+    Review review = new Review();
+
+    review.setScore(new BigDecimal(score));
+    review.setText("Resenha");
+    review.setUser(user);
+    review.setBook(book);
+
+    return entityManager.persistAndFlush(review);
+  }
+
+  private Book reload(Book book) {
+    entityManager.clear();
+
+    return bookRepository.findById(book.getId()).orElseThrow();
+  }
+
+  @Test
+  void save_ShouldStartBookWithEmptyRatings() {
+    // When
+    Book book = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", createAndSaveAuthor());
+
+    // Then
+    assertThat(book.getReviewCount()).isZero();
+    assertThat(book.getScoreSum()).isZero();
+    assertThat(book.getScoreHistogram()).hasSize(11).containsOnly(0);
+  }
+
+  @Test
+  void updateRatings_ShouldMoveCountSumAndHalfPointBucket() {
+    // Given
+    Book book = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", createAndSaveAuthor());
+
+    // When
+    bookRepository.updateRatings(book.getId(), new BigDecimal("4.5"), 1);
+    bookRepository.updateRatings(book.getId(), new BigDecimal("4.2"), 1);
+    bookRepository.updateRatings(book.getId(), new BigDecimal("5.0"), 1);
+    bookRepository.updateRatings(book.getId(), new BigDecimal("4.2"), -1);
+
+    // Then
+    Book reloaded = reload(book);
+
+    assertThat(reloaded.getReviewCount()).isEqualTo(2);
+    assertThat(reloaded.getScoreSum()).isEqualByComparingTo("9.5");
+    assertThat(reloaded.getScoreHistogram()).containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1);
+    assertThat(reloaded.getRatingsUpdatedAt()).isNotNull();
+    assertThat(bookRepository.findAllAsDTO(PageRequest.of(0, 10)).getContent().getFirst().averageScore())
+      .isEqualByComparingTo("4.75");
+  }
+
+  @Test
+  void updateRatings_ShouldChangeVersion() {
+    // Given
+    Book book = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", createAndSaveAuthor());
+    String before = bookRepository.findVersionById(book.getId()).orElseThrow();
+
+    // When
+    bookRepository.updateRatings(book.getId(), new BigDecimal("3.0"), 1);
+
+    // Then
+    assertThat(bookRepository.findVersionById(book.getId())).isPresent().get().isNotEqualTo(before);
+  }
+
+  @Test
+  void removeRatingsByUserId_ShouldSubtractOnlyThatUsersReviews() {
+    // Given
+    Author author = createAndSaveAuthor();
+    Book domCasmurro = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", author);
+    Book helena = createAndSaveBookWithAuthor("Helena", "Drama", author);
+    User leaving = createAndSaveUser("leaving");
+    User staying = createAndSaveUser("staying");
+
+    createAndSaveReview(leaving, domCasmurro, "2.0");
+    createAndSaveReview(leaving, helena, "4.5");
+    createAndSaveReview(staying, domCasmurro, "5.0");
+    bookRepository.recomputeRatings(domCasmurro.getId());
+    bookRepository.recomputeRatings(helena.getId());
+
+    // When
+    int updated = bookRepository.removeRatingsByUserId(leaving.getId());
+
+    // Then
+    assertThat(updated).isEqualTo(2);
+    assertThat(reload(domCasmurro).getReviewCount()).isEqualTo(1);
+    assertThat(reload(domCasmurro).getScoreSum()).isEqualByComparingTo("5.0");
+    assertThat(reload(domCasmurro).getScoreHistogram()).containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1);
+    assertThat(reload(helena).getReviewCount()).isZero();
+    assertThat(reload(helena).getScoreHistogram()).containsOnly(0);
+  }
+
+  @Test
+  void findIdsWithRatingDrift_ShouldReportBook_UntilItIsRecomputed() {
+    // Given
+    Author author = createAndSaveAuthor();
+    Book drifted = createAndSaveBookWithAuthor("Dom Casmurro", "Romance", author);
+    Book consistent = createAndSaveBookWithAuthor("Helena", "Drama", author);
+    Book unrated = createAndSaveBookWithAuthor("Iracema", "Indianista", author);
+    User user = createAndSaveUser("reader");
+
+    createAndSaveReview(user, drifted, "3.5");
+    createAndSaveReview(user, consistent, "1.0");
+    bookRepository.updateRatings(consistent.getId(), new BigDecimal("1.0"), 1);
+    bookRepository.updateRatings(unrated.getId(), new BigDecimal("2.5"), 1);
+
+    // When
+    List<UUID> before = bookRepository.findIdsWithRatingDrift();
+
+    bookRepository.recomputeRatings(drifted.getId());
+    bookRepository.recomputeRatings(unrated.getId());
+
+    // Then
+    assertThat(before).containsExactlyInAnyOrder(drifted.getId(), unrated.getId());
+    assertThat(bookRepository.findIdsWithRatingDrift()).isEmpty();
+    assertThat(reload(drifted).getReviewCount()).isEqualTo(1);
+    assertThat(reload(drifted).getScoreHistogram()).containsExactly(0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0);
+    assertThat(reload(unrated).getReviewCount()).isZero();
+    assertThat(reload(unrated).getScoreSum()).isZero();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,361 @@
+package com.booker.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booker.config.JPAConfig;
+import com.booker.models.RefreshToken;
+import com.booker.models.User;
+import com.booker.repositories.projections.RotatedRefreshToken;
+
+@DataJpaTest @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test") @Testcontainers
+@Import(JPAConfig.class)
+class RefreshTokenRepositoryTest {
+  @Container
+  static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:18.1"));
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+  }
+
+  @BeforeAll
+  static void setupDatabase() {
+    Flyway flyway = Flyway.configure()
+      .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+      .locations("classpath:db/migration")
+      .load()
+    ;
+
+    flyway.migrate();
+  }
+
+  @Autowired
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private User createUser(String username) {
+    User user = new User();
+
+    user.setName(username);
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("hash");
+
+    return userRepository.saveAndFlush(user);
+  }
+
+  private static byte[] hash(String token) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // Whole seconds, like the exp claim the service stores
+  private static Instant expiresIn(Duration duration) {
+    return Instant.now().plus(duration).truncatedTo(ChronoUnit.SECONDS);
+  }
+
+  private RefreshToken createToken(User user, String token, Instant expiresAt) {
+    return refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+      .tokenHash(hash(token))
+      .user(user)
+      .expiresAt(expiresAt)
+      .deviceInfo("Firefox")
+      .ipAddress("10.0.0.1")
+      .build()
+    );
+  }
+
+  // ========== ROTATION TESTS ==========
+
+  @Test
+  void rotate_ShouldRevokeOnce_WhenTokenIsRotatedTwice() {
+    // Given
+    User user = createUser("bentinho");
+    Instant expiresAt = expiresIn(Duration.ofDays(7));
+    RefreshToken token = createToken(user, "hash-1", expiresAt);
+
+    // When
+    Optional<RotatedRefreshToken> first = refreshTokenRepository.rotate(hash("hash-1"), expiresAt, Instant.now());
+    Optional<RotatedRefreshToken> second = refreshTokenRepository.rotate(hash("hash-1"), expiresAt, Instant.now());
+
+    // Then
+    assertThat(first).isPresent();
+    assertThat(first.get().getUsername()).isEqualTo("bentinho");
+    assertThat(first.get().getEnabled()).isTrue();
+    assertThat(first.get().getAccountNonLocked()).isTrue();
+    assertThat(first.get().getTokenVersion()).isEqualTo(user.getTokenVersion());
+    assertThat(first.get().getDeviceInfo()).isEqualTo("Firefox");
+    assertThat(first.get().getIpAddress()).isEqualTo("10.0.0.1");
+    assertThat(second).isEmpty();
+
+    entityManager.clear();
+
+    RefreshToken revoked = refreshTokenRepository.findById(token.getId()).orElseThrow();
+
+    assertThat(revoked.getRevoked()).isTrue();
+    assertThat(revoked.getRevokedAt()).isNotNull();
+  }
+
+  @Test
+  void rotate_ShouldReturnNothing_WhenTokenExpiredOrUnknown() {
+    // Given
+    Instant expiredAt = expiresIn(Duration.ofMinutes(-1));
+
+    createToken(createUser("capitu"), "hash-expired", expiredAt);
+
+    // When & Then
+    assertThat(refreshTokenRepository.rotate(hash("hash-expired"), expiredAt, Instant.now())).isEmpty();
+    assertThat(refreshTokenRepository.rotate(hash("hash-unknown"), expiredAt, Instant.now())).isEmpty();
+  }
+
+  @Test
+  void rotate_ShouldReportOwnerStatus_AsOfTheRotation() {
+    // Given - The owner is locked after the token was issued
+    User user = createUser("dona-gloria");
+    Instant expiresAt = expiresIn(Duration.ofDays(7));
+
+    createToken(user, "hash-locked", expiresAt);
+    entityManager.getEntityManager()
+      .createNativeQuery("UPDATE users SET account_non_locked = false WHERE id = :id")
+      .setParameter("id", user.getId())
+      .executeUpdate();
+
+    // When
+    RotatedRefreshToken rotated = refreshTokenRepository.rotate(hash("hash-locked"), expiresAt, Instant.now()).orElseThrow();
+
+    // Then
+    assertThat(rotated.getEnabled()).isTrue();
+    assertThat(rotated.getAccountNonLocked()).isFalse();
+    assertThat(rotated.getTokenVersion()).isGreaterThan(user.getTokenVersion());
+  }
+
+  @Test
+  void rotate_ShouldReturnNothing_WhenExpiryDoesNotMatchToken() {
+    // Given
+    Instant expiresAt = expiresIn(Duration.ofDays(7));
+
+    createToken(createUser("sancha"), "hash-2", expiresAt);
+
+    // When & Then
+    assertThat(refreshTokenRepository.rotate(hash("hash-2"), expiresAt.plusSeconds(1), Instant.now())).isEmpty();
+    assertThat(refreshTokenRepository.rotate(hash("hash-2"), expiresAt, Instant.now())).isPresent();
+  }
+
+  @Test
+  void rotate_ShouldMatchLegacyToken_WhenExpiryIsWithinTheExpSecond() {
+    // Given
+    Instant exp = expiresIn(Duration.ofDays(7));
+
+    // Saved before V19, a moment after the JWT was built
+    createToken(createUser("capitu-legacy"), "hash-legacy", exp.plusMillis(437).plusNanos(215000));
+    createToken(createUser("escobar-legacy"), "hash-next-second", exp.plusSeconds(1));
+
+    // When & Then
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("hash-legacy"), exp)).isPresent();
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("hash-next-second"), exp)).isEmpty();
+    assertThat(refreshTokenRepository.rotate(hash("hash-legacy"), exp, Instant.now())).isPresent();
+  }
+
+  @Test @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void rotate_ShouldSkipTokenBeingRotated_WithoutWaitingForItsLock() throws Exception {
+    // Given - Committed, so both transactions see it
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    User user = transaction.execute(status -> createUser("escobar"));
+
+    Instant expiresAt = expiresIn(Duration.ofDays(7));
+
+    transaction.execute(status -> createToken(user, "hash-raced", expiresAt));
+
+    CountDownLatch rotated = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try {
+      // When - One rotation holds the row until the other has run
+      CompletableFuture<Optional<RotatedRefreshToken>> winner = CompletableFuture.supplyAsync(() ->
+        transaction.execute(status -> {
+          Optional<RotatedRefreshToken> result = refreshTokenRepository.rotate(hash("hash-raced"), expiresAt, Instant.now());
+
+          rotated.countDown();
+          awaitQuietly(release);
+
+          return result;
+        })
+      );
+
+      assertThat(rotated.await(10, TimeUnit.SECONDS)).isTrue();
+
+      long start = System.nanoTime();
+      Optional<RotatedRefreshToken> loser = transaction.execute(status ->
+        refreshTokenRepository.rotate(hash("hash-raced"), expiresAt, Instant.now())
+      );
+      long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      release.countDown();
+
+      // Then
+      assertThat(loser).isEmpty();
+      assertThat(waitedMillis).isLessThan(2000);
+      assertThat(winner.get(10, TimeUnit.SECONDS)).isPresent();
+    } finally {
+      release.countDown();
+      transaction.executeWithoutResult(status -> userRepository.deleteById(user.getId()));
+    }
+  }
+
+  // ========== PARTITION TESTS ==========
+
+  @Test
+  void createPartitions_ShouldCoverUpcomingDays_AndMoveRowsOutOfDefault() {
+    // Given - A token issued past every partition lands in the default one
+    User user = createUser("bentinho");
+    LocalDate farDay = LocalDate.now().plusDays(30);
+    Instant farExpiry = farDay.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant();
+    RefreshToken far = createToken(user, "far", farExpiry);
+
+    assertThat(partitionOf(far)).isEqualTo("refresh_tokens_default");
+
+    // When
+    int created = refreshTokenRepository.createPartitions(30);
+    int again = refreshTokenRepository.createPartitions(30);
+
+    // Then
+    assertThat(created).isPositive();
+    assertThat(again).isZero();
+    assertThat(partitionOf(far)).isEqualTo("refresh_tokens_" + farDay.format(DateTimeFormatter.BASIC_ISO_DATE));
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("far"), farExpiry)).isPresent();
+  }
+
+  @Test
+  void dropExpiredPartitions_ShouldDropFullyExpiredDays_AndKeepLiveTokens() {
+    // Given
+    User user = createUser("capitu");
+
+    entityManager.getEntityManager().createNativeQuery(
+      "CREATE TABLE refresh_tokens_20000101 PARTITION OF refresh_tokens FOR VALUES FROM ('2000-01-01') TO ('2000-01-02')"
+    ).executeUpdate();
+
+    Instant expiredAt = LocalDate.of(2000, 1, 1).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant();
+    Instant liveUntil = expiresIn(Duration.ofDays(7));
+
+    createToken(user, "expired", expiredAt);
+    createToken(user, "live", liveUntil);
+
+    // When
+    int dropped = refreshTokenRepository.dropExpiredPartitions();
+
+    // Then
+    assertThat(dropped).isEqualTo(1);
+
+    entityManager.clear();
+
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("expired"), expiredAt)).isEmpty();
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("live"), liveUntil)).isPresent();
+  }
+
+  // ========== PURGE TESTS ==========
+
+  @Test
+  void deleteRevokedTokens_ShouldDeleteLongRevoked_InBoundedBatches() {
+    // Given
+    User user = createUser("jose-dias");
+    Instant now = Instant.now();
+    Instant expiresAt = expiresIn(Duration.ofDays(7));
+
+    createToken(user, "live", expiresAt);
+
+    for (String token : new String[] { "long-revoked-1", "long-revoked-2", "long-revoked-3", "recently-revoked" }) {
+      RefreshToken revoked = createToken(user, token, expiresAt);
+
+      revoked.setRevoked(true);
+      revoked.setRevokedAt(token.startsWith("long") ? now.minus(Duration.ofDays(8)) : now.minus(Duration.ofHours(1)));
+      refreshTokenRepository.saveAndFlush(revoked);
+    }
+
+    Instant revokedBefore = now.minus(Duration.ofDays(7));
+
+    // When
+    int first = refreshTokenRepository.deleteRevokedTokens(revokedBefore, 2);
+    int second = refreshTokenRepository.deleteRevokedTokens(revokedBefore, 2);
+    int third = refreshTokenRepository.deleteRevokedTokens(revokedBefore, 2);
+
+    // Then
+    assertThat(first).isEqualTo(2);
+    assertThat(second).isEqualTo(1);
+    assertThat(third).isZero();
+
+    entityManager.clear();
+
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("live"), expiresAt)).isPresent();
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("recently-revoked"), expiresAt)).isPresent();
+    assertThat(refreshTokenRepository.findByTokenHashAndExpiry(hash("long-revoked-1"), expiresAt)).isEmpty();
+  }
+
+  private String partitionOf(RefreshToken token) {
+    return (String) entityManager.getEntityManager()
+      .createNativeQuery("SELECT tableoid::regclass::text FROM refresh_tokens WHERE id = :id")
+      .setParameter("id", token.getId())
+      .getSingleResult();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
\ No newline at end of file
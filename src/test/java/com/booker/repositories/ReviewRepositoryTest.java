@@ -0,0 +1,403 @@
+package com.booker.repositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+
+import org.flywaydb.core.Flyway;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booker.DTO.Review.ReviewSummaryDTO;
+import com.booker.config.JPAConfig;
+import com.booker.models.Author;
+import com.booker.models.Book;
+import com.booker.models.Genre;
+import com.booker.models.Review;
+import com.booker.models.User;
+
+@DataJpaTest @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test") @Testcontainers
+@Import(JPAConfig.class)
+class ReviewRepositoryTest {
+  @Container
+  static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:18.1"));
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+  }
+
+  @BeforeAll
+  static void setupDatabase() {
+    Flyway flyway = Flyway.configure()
+      .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+      .locations("classpath:db/migration")
+      .load()
+    ;
+
+    flyway.migrate();
+  }
+
+  @Autowired
+  private ReviewRepository reviewRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  private Book createAndSaveBook(String title) {
+    Author author = new Author();
+
+    author.setName("Machado de Assis");
+    author.setBiography("Considerado um dos maiores escritores brasileiros...");
+    entityManager.persistAndFlush(author);
+
+    Book book = new Book();
+
+    book.setTitle(title);
+    book.setSynopsis("Romance");
+    book.setPageCount(200);
+    book.setAuthor(author);
+
+    return entityManager.persistAndFlush(book);
+  }
+
+  private User createAndSaveUser(String username) {
+    User user = new User();
+
+    user.setName(username);
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("hash");
+
+    return entityManager.persistAndFlush(user);
+  }
+
+  private Review createAndSaveReview(User user, Book book, int likeCount) {
+    Review review = new Review();
+
+    review.setScore(new BigDecimal("4.0"));
+    review.setText("Resenha de " + user.getUsername());
+    review.setLikeCount(likeCount);
+    review.setUser(user);
+    review.setBook(book);
+
+    return entityManager.persistAndFlush(review);
+  }
+
+  // ========== ORDER TESTS ==========
+
+  @Test
+  void findByBookId_ShouldListMostLikedFirst_WhenSortedByLikeCount() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+    Review quiet = createAndSaveReview(createAndSaveUser("quiet"), book, 1);
+    Review popular = createAndSaveReview(createAndSaveUser("popular"), book, 40);
+    Review tied = createAndSaveReview(createAndSaveUser("tied"), book, 1);
+
+    createAndSaveReview(createAndSaveUser("elsewhere"), createAndSaveBook("Helena"), 99);
+
+    // When
+    List<Review> result = reviewRepository.findByBookId(
+      book.getId(),
+      PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "likeCount", "id"))
+    ).getContent();
+
+    // Then - ties go to the later id
+    assertThat(result).extracting(Review::getId).containsExactly(popular.getId(), tied.getId(), quiet.getId());
+  }
+
+  // ========== FETCH PLAN TESTS ==========
+
+  // Runs a listing on a clean persistence context, touching what ReviewMapper.toSimpleDTO reads
+  private long countStatements(Function<Pageable, List<Review>> listing, int pageSize) {
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+
+    entityManager.clear();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    List<Review> reviews = listing.apply(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+
+    reviews.forEach(review -> review.getUser().getUsername());
+
+    assertThat(reviews).hasSize(pageSize);
+
+    return statistics.getPrepareStatementCount();
+  }
+
+  @Test
+  void findByBookId_ShouldUseConstantStatements_RegardlessOfPageSize() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+
+    for (int i = 0; i < 12; i++)
+      createAndSaveReview(createAndSaveUser("leitor" + i), book, i);
+
+    // When
+    Function<Pageable, List<Review>> listing = pageable -> reviewRepository.findByBookId(book.getId(), pageable).getContent();
+    long[] counts = { countStatements(listing, 2), countStatements(listing, 10) };
+
+    // Then - page with reviewers and book, and the count
+    assertThat(counts).containsExactly(2, 2);
+  }
+
+  @Test
+  void findSliceByBookId_ShouldUseConstantStatements_RegardlessOfPageSize() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+
+    for (int i = 0; i < 12; i++)
+      createAndSaveReview(createAndSaveUser("leitor" + i), book, i);
+
+    // When
+    Function<Pageable, List<Review>> listing = pageable -> reviewRepository.findSliceByBookId(book.getId(), pageable).getContent();
+    long[] counts = { countStatements(listing, 2), countStatements(listing, 10) };
+
+    // Then - one query, reviewers and book joined in
+    assertThat(counts).containsExactly(1, 1);
+  }
+
+  @Test
+  void findAllSummaries_ShouldCarryBookIdAndTitle_WithoutLoadingEntities() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+    Review review = createAndSaveReview(createAndSaveUser("leitor"), book, 3);
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+
+    entityManager.clear();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    // When
+    List<ReviewSummaryDTO> result = reviewRepository.findAllSummaries(PageRequest.of(0, 10, Sort.by("createdAt")))
+      .getContent();
+
+    // Then - a partial first page skips the count
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(result).singleElement().satisfies(summary -> {
+      assertThat(summary.id()).isEqualTo(review.getId());
+      assertThat(summary.likeCount()).isEqualTo(3);
+      assertThat(summary.user().username()).isEqualTo("leitor");
+      assertThat(summary.book()).isEqualTo(new ReviewSummaryDTO.BookRef(book.getId(), "Dom Casmurro"));
+    });
+  }
+
+  @Test
+  void findWithBooksSliceBy_ShouldUseConstantStatements_RegardlessOfPageSize() {
+    // Given - reviews spread over books with genres, as ReviewMapper.toDTO embeds them
+    Genre romance = entityManager.persistAndFlush(new Genre("Romance", null));
+
+    for (int i = 0; i < 12; i++) {
+      Book book = createAndSaveBook("Romance " + i);
+
+      book.setGenres(Set.of(romance));
+      entityManager.persistAndFlush(book);
+      createAndSaveReview(createAndSaveUser("leitor" + i), book, i);
+    }
+
+    // When
+    Function<Pageable, List<Review>> listing = pageable -> {
+      List<Review> reviews = reviewRepository.findWithBooksSliceBy(pageable).getContent();
+
+      reviews.forEach(review -> {
+        review.getBook().getAuthor().getName();
+        review.getBook().getGenres().forEach(Genre::getName);
+      });
+
+      return reviews;
+    };
+    long[] counts = { countStatements(listing, 2), countStatements(listing, 10) };
+
+    // Then - slice with reviewers, books and authors, and the batched genres
+    assertThat(counts).containsExactly(2, 2);
+  }
+
+  // ========== INDEX TESTS ==========
+
+  @SuppressWarnings("unchecked")
+  private String explainFirstPage(Book book, String orderBy) {
+    EntityManager em = entityManager.getEntityManager();
+
+    return String.join("\n", em.createNativeQuery("""
+      EXPLAIN SELECT r.id FROM reviews r
+      WHERE r.book_id = :bookId
+      ORDER BY %s
+      LIMIT 10
+      """.formatted(orderBy))
+      .setParameter("bookId", book.getId())
+      .getResultList()
+    );
+  }
+
+  @Test
+  void findByBookId_ShouldReadPagesInIndexOrder_ForNewestAndMostLiked() {
+    // Given - Enough reviews per book for the planner to prefer an index over a sequential scan
+    Book book = createAndSaveBook("Dom Casmurro");
+    EntityManager em = entityManager.getEntityManager();
+
+    createAndSaveBook("Helena");
+
+    em.createNativeQuery("""
+      INSERT INTO users (name, username, email, password)
+      SELECT 'Leitor ' || n, 'leitor' || n, 'leitor' || n || '@example.com', 'hash'
+      FROM generate_series(1, 20000) AS n
+      """).executeUpdate();
+
+    em.createNativeQuery("""
+      INSERT INTO reviews (score, text, like_count, user_id, book_id)
+      SELECT 4.0, 'Resenha', (random() * 100)::INTEGER, u.id, b.id
+      FROM users u CROSS JOIN books b
+      """).executeUpdate();
+
+    em.createNativeQuery("ANALYZE reviews").executeUpdate();
+
+    // When
+    String newest = explainFirstPage(book, "r.created_at DESC, r.id DESC");
+    String mostLiked = explainFirstPage(book, "r.like_count DESC, r.id DESC");
+
+    // Then
+    assertThat(newest).contains("idx_reviews_book_id_created_at_id").doesNotContain("Sort");
+    assertThat(mostLiked).contains("idx_reviews_book_id_like_count_id").doesNotContain("Sort");
+  }
+
+  // ========== LIKE TESTS ==========
+
+  private int likeCountOf(Review review) {
+    entityManager.clear();
+
+    return reviewRepository.findById(review.getId()).orElseThrow().getLikeCount();
+  }
+
+  @Test
+  void insertLike_ShouldInsertOnce_WhenUserLikesTwice() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+    Review review = createAndSaveReview(createAndSaveUser("author"), book, 0);
+    User fan = createAndSaveUser("fan");
+
+    // When
+    int first = reviewRepository.insertLike(review.getId(), fan.getId());
+    int second = reviewRepository.insertLike(review.getId(), fan.getId());
+    int missing = reviewRepository.insertLike(UUID.randomUUID(), fan.getId());
+
+    // Then
+    assertThat(first).isEqualTo(1);
+    assertThat(second).isZero();
+    assertThat(missing).isZero();
+    assertThat(reviewRepository.deleteLike(review.getId(), fan.getId())).isEqualTo(1);
+    assertThat(reviewRepository.deleteLike(review.getId(), fan.getId())).isZero();
+  }
+
+  @Test
+  void recountLikes_ShouldSetCountsFromLikes_ForTheGivenReviewsOnly() {
+    // Given - counts that drifted, whichever way
+    Book book = createAndSaveBook("Dom Casmurro");
+    Review liked = createAndSaveReview(createAndSaveUser("liked"), book, 0);
+    Review overshot = createAndSaveReview(createAndSaveUser("overshot"), book, 5);
+    Review untouched = createAndSaveReview(createAndSaveUser("untouched"), book, 3);
+
+    User first = createAndSaveUser("first");
+    User second = createAndSaveUser("second");
+
+    reviewRepository.insertLike(liked.getId(), first.getId());
+    reviewRepository.insertLike(liked.getId(), second.getId());
+
+    // When
+    reviewRepository.recountLikes(List.of(liked.getId(), overshot.getId(), UUID.randomUUID()));
+
+    // Then
+    assertThat(likeCountOf(liked)).isEqualTo(2);
+    assertThat(likeCountOf(overshot)).isZero();
+    assertThat(likeCountOf(untouched)).isEqualTo(3);
+  }
+
+  @Test
+  void findIdsWithLikeCountDrift_ShouldFindOnlyCountsThatDifferFromLikes() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+    Review stale = createAndSaveReview(createAndSaveUser("stale"), book, 0);
+    Review overshot = createAndSaveReview(createAndSaveUser("overshot"), book, 5);
+    Review exact = createAndSaveReview(createAndSaveUser("exact"), book, 1);
+
+    User fan = createAndSaveUser("fan");
+
+    reviewRepository.insertLike(stale.getId(), fan.getId());
+    reviewRepository.insertLike(exact.getId(), fan.getId());
+
+    // When
+    List<UUID> drifted = reviewRepository.findIdsWithLikeCountDrift();
+
+    // Then
+    assertThat(drifted).containsExactlyInAnyOrder(stale.getId(), overshot.getId());
+    assertThat(reviewRepository.findLikedReviewIds(fan.getId()))
+      .containsExactlyInAnyOrder(stale.getId(), exact.getId());
+  }
+
+  // ========== OWNERSHIP TESTS ==========
+
+  @Test
+  void existsByIdAndUserId_ShouldAnswerInOneStatement_WithoutLoadingEntities() {
+    // Given
+    Book book = createAndSaveBook("Dom Casmurro");
+    User owner = createAndSaveUser("owner");
+    User other = createAndSaveUser("other");
+    Review review = createAndSaveReview(owner, book, 0);
+
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+      .unwrap(SessionFactory.class)
+      .getStatistics();
+
+    entityManager.clear();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    // When
+    boolean ownerCheck = reviewRepository.existsByIdAndUserId(review.getId(), owner.getId());
+    long statements = statistics.getPrepareStatementCount();
+
+    // Then
+    assertThat(ownerCheck).isTrue();
+    assertThat(statements).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(reviewRepository.existsByIdAndUserId(review.getId(), other.getId())).isFalse();
+    assertThat(reviewRepository.existsByIdAndUserId(UUID.randomUUID(), owner.getId())).isFalse();
+  }
+}
\ No newline at end of file
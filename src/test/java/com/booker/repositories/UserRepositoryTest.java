@@ -0,0 +1,128 @@
+package com.booker.repositories;
+
+import java.util.Optional;
+
+import org.flywaydb.core.Flyway;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booker.config.JPAConfig;
+import com.booker.models.User;
+
+@DataJpaTest @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test") @Testcontainers
+@Import(JPAConfig.class)
+class UserRepositoryTest {
+  @Container
+  static PostgreSQLContainer postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:18.1"));
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.flyway.url", postgres::getJdbcUrl);
+    registry.add("spring.flyway.user", postgres::getUsername);
+    registry.add("spring.flyway.password", postgres::getPassword);
+  }
+
+  @BeforeAll
+  static void setupDatabase() {
+    Flyway flyway = Flyway.configure()
+      .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+      .locations("classpath:db/migration")
+      .load()
+    ;
+
+    flyway.migrate();
+  }
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  private User createUser(String username, String email) {
+    User user = new User();
+
+    user.setName(username);
+    user.setUsername(username);
+    user.setEmail(email);
+    user.setPassword("hash");
+
+    return userRepository.saveAndFlush(user);
+  }
+
+  // ========== LOGIN LOOKUP TESTS ==========
+
+  @Test
+  void findByUsernameOrEmail_ShouldFindUser_ByEitherIdentifier() {
+    // Given
+    User user = createUser("bentinho", "bentinho@example.com");
+
+    // When
+    Optional<User> byUsername = userRepository.findByUsernameOrEmail("bentinho");
+    Optional<User> byEmail = userRepository.findByUsernameOrEmail("bentinho@example.com");
+    Optional<User> unknown = userRepository.findByUsernameOrEmail("escobar");
+
+    // Then
+    assertThat(byUsername).map(User::getId).contains(user.getId());
+    assertThat(byEmail).map(User::getId).contains(user.getId());
+    assertThat(unknown).isEmpty();
+  }
+
+  @Test
+  void findByUsernameOrEmail_ShouldPreferUsername_WhenItMatchesAnotherUsersEmail() {
+    // Given
+    createUser("capitu", "capitu@example.com");
+    User owner = createUser("capitu@example.com", "other@example.com");
+
+    // When
+    Optional<User> found = userRepository.findByUsernameOrEmail("capitu@example.com");
+
+    // Then
+    assertThat(found).map(User::getId).contains(owner.getId());
+  }
+
+  // ========== PASSWORD TESTS ==========
+
+  @Test
+  void updatePassword_ShouldReplaceHash_OnlyWhenItIsStillTheCheckedOne() {
+    // Given
+    User user = createUser("bentinho", "bentinho@example.com");
+    Integer tokenVersion = user.getTokenVersion();
+
+    // When
+    int stale = userRepository.updatePassword(user.getId(), "other-hash", "new-hash");
+    int updated = userRepository.updatePassword(user.getId(), "hash", "new-hash");
+
+    // Then
+    assertThat(stale).isZero();
+    assertThat(updated).isEqualTo(1);
+
+    entityManager.clear();
+
+    User reloaded = userRepository.findById(user.getId()).orElseThrow();
+
+    assertThat(reloaded.getPassword()).isEqualTo("new-hash");
+    assertThat(reloaded.getTokenVersion()).isEqualTo(tokenVersion + 1);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.booker.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.VersionedBookDetailDTO;
+import com.booker.config.CacheConfig;
+import com.booker.mappers.BookMapper;
+import com.booker.mappers.CursorMapper;
+import com.booker.models.Book;
+import com.booker.repositories.AuthorRepository;
+import com.booker.repositories.BookRepository;
+import com.booker.repositories.GenreRepository;
+
+import static com.booker.constants.Caches.BOOK_DETAILS;
+
+@SpringJUnitConfig({ CacheConfig.class, BookService.class, AuthorService.class, GenreService.class })
+@TestPropertySource(locations = "classpath:cache-test.properties")
+class BookServiceCacheTest {
+  @MockitoBean
+  private BookRepository bookRepository;
+
+  @MockitoBean
+  private AuthorRepository authorRepository;
+
+  @MockitoBean
+  private GenreRepository genreRepository;
+
+  @MockitoBean
+  private BookMapper bookMapper;
+
+  @MockitoBean
+  private CursorMapper cursorMapper;
+
+  @MockitoBean
+  private SupabaseStorageService storageService;
+
+  @Autowired
+  private BookService bookService;
+
+  @Autowired
+  private AuthorService authorService;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private final UUID BOOK_ID = UUID.randomUUID();
+
+  private final Book book = new Book();
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(BOOK_DETAILS).clear();
+
+    BookDetailDTO dto = new BookDetailDTO(BOOK_ID, "Dom Casmurro", null, 256, null, List.of(), null, null, null, 0, null);
+
+    book.setId(BOOK_ID);
+
+    when(bookRepository.findVersionById(BOOK_ID)).thenReturn(Optional.of("v1"));
+    when(bookRepository.findByIdWithGenres(BOOK_ID)).thenReturn(Optional.of(book));
+    when(bookMapper.toDetailDTO(book)).thenReturn(dto);
+  }
+
+  @Test
+  void findVersionedById_ShouldHitDatabaseOnce_WhenCalledRepeatedly() {
+    // When
+    VersionedBookDetailDTO first = bookService.findVersionedById(BOOK_ID);
+    VersionedBookDetailDTO second = bookService.findVersionedById(BOOK_ID);
+
+    // Then
+    assertSame(first, second);
+    assertEquals("v1", first.version());
+    verify(bookRepository, times(1)).findVersionById(BOOK_ID);
+    verify(bookRepository, times(1)).findByIdWithGenres(BOOK_ID);
+  }
+
+  @Test
+  void findVersionedById_ShouldServeEntryCachedAfterEviction_UntilRefreshed() {
+    // Given - A read from before a write caches its entry after the write's eviction
+    VersionedBookDetailDTO stale = bookService.findVersionedById(BOOK_ID);
+
+    when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book));
+    bookService.removeCover(BOOK_ID);
+    cacheManager.getCache(BOOK_DETAILS).put(BOOK_ID, stale);
+    when(bookRepository.findVersionById(BOOK_ID)).thenReturn(Optional.of("v2"));
+
+    // When
+    VersionedBookDetailDTO cached = bookService.findVersionedById(BOOK_ID);
+    VersionedBookDetailDTO refreshed = bookService.refreshVersionedById(BOOK_ID);
+
+    // Then - The stale entry keeps its own version, so its ETag still matches its body
+    assertSame(stale, cached);
+    assertEquals("v1", cached.version());
+    assertEquals("v2", refreshed.version());
+    assertSame(refreshed, bookService.findVersionedById(BOOK_ID));
+  }
+
+  @Test
+  void removeCover_ShouldEvictCachedBook() {
+    // Given
+    bookService.findVersionedById(BOOK_ID);
+    when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book));
+
+    // When
+    bookService.removeCover(BOOK_ID);
+    bookService.findVersionedById(BOOK_ID);
+
+    // Then
+    verify(bookRepository, times(2)).findByIdWithGenres(BOOK_ID);
+  }
+
+  @Test
+  void deleteById_ShouldEvictCachedBook_EvenWhenBookIsMissing() {
+    // Given
+    bookService.findVersionedById(BOOK_ID);
+
+    // When
+    bookService.deleteById(BOOK_ID);
+
+    // Then
+    assertNull(cacheManager.getCache(BOOK_DETAILS).get(BOOK_ID));
+  }
+
+  @Test
+  void authorUpdate_ShouldEvictAllCachedBooks() {
+    // Given
+    bookService.findVersionedById(BOOK_ID);
+
+    // When
+    authorService.deleteById(UUID.randomUUID());
+
+    // Then
+    assertNull(cacheManager.getCache(BOOK_DETAILS).get(BOOK_ID));
+  }
+}
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.booker.services;
 
-import java.util.Arrays;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -13,11 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,8 +34,11 @@ import static org.mockito.Mockito.*;
 
 import com.booker.DTO.Book.BookDTO;
 import com.booker.DTO.Book.BookDetailDTO;
+import com.booker.DTO.Book.BookFilterDTO;
+import com.booker.DTO.Pagination.CursorPageDTO;
 import com.booker.exceptions.ResourceNotFoundException;
 import com.booker.mappers.BookMapper;
+import com.booker.mappers.CursorMapper;
 import com.booker.models.Author;
 import com.booker.models.Book;
 import com.booker.models.Genre;
@@ -50,6 +61,9 @@ class BookServiceTest {
   @Mock
   private BookMapper bookMapper;
 
+  @Spy
+  private CursorMapper cursorMapper = new CursorMapper();
+
   @InjectMocks
   private BookService bookService;
 
@@ -104,7 +118,7 @@ class BookServiceTest {
         testBook.getTitle(),
         testBook.getSynopsis(),
         testBook.getPageCount(),
-        null, null, null, null, null);
+        null, null, null, null, null, 0, null);
 
     when(bookRepository.findByIdWithGenres(TEST_BOOK_ID)).thenReturn(Optional.of(testBook));
     when(bookMapper.toDetailDTO(testBook)).thenReturn(expectedDTO);
@@ -135,74 +149,15 @@ class BookServiceTest {
     verify(bookRepository).findByIdWithGenres(randomID);
   }
 
-  @Test
-  void findByTitle_ShouldReturnBooksMatchingTitle() {
-    // Given
-    Book book1 = createBaseBook("Dom Casmurro");
-    book1.setId(UUID.randomUUID());
-
-    Book book2 = createBaseBook("Dom Pedro");
-    book2.setId(UUID.randomUUID());
-
-    List<Book> books = Arrays.asList(book1, book2);
-    Page<Book> bookPage = new PageImpl<>(books);
-    Pageable pageable = PageRequest.of(0, 10);
-
-    BookDTO dto1 = new BookDTO(book1.getId(), book1.getTitle(), null, null, null, null, null, null, null);
-    BookDTO dto2 = new BookDTO(book2.getId(), book2.getTitle(), null, null, null, null, null, null, null);
-
-    when(bookRepository.findByTitleContainingIgnoreCase("Dom", pageable)).thenReturn(bookPage);
-    when(bookMapper.toDTO(book1)).thenReturn(dto1);
-    when(bookMapper.toDTO(book2)).thenReturn(dto2);
-
-    // When
-    Page<BookDTO> result = bookService.findByTitle("Dom", pageable);
-
-    // Then
-    assertEquals(2, result.getContent().size());
-    assertTrue(result.getContent().stream().allMatch(book -> book.title().contains("Dom")));
-    verify(bookRepository).findByTitleContainingIgnoreCase("Dom", pageable);
-  }
-
-  @Test
-  void findByAuthor_ShouldReturnBooksByAuthor() {
-    final UUID authorId = UUID.randomUUID();
-
-    // Given
-    Book book2 = createBaseBook("O Cortiço");
-    List<Book> books = Arrays.asList(testBook, book2);
-    Page<Book> bookPage = new PageImpl<>(books);
-    Pageable pageable = PageRequest.of(0, 10);
-
-    BookDTO dto1 = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null);
-    BookDTO dto2 = new BookDTO(UUID.randomUUID(), book2.getTitle(), null, null, null, null, null, null, null);
-
-    when(bookRepository.findByAuthorId(authorId, pageable)).thenReturn(bookPage);
-    when(bookMapper.toDTO(testBook)).thenReturn(dto1);
-    when(bookMapper.toDTO(book2)).thenReturn(dto2);
-
-    // When
-    Page<BookDTO> result = bookService.findByAuthor(authorId, pageable);
-
-    // Then
-    assertEquals(2, result.getContent().size());
-    verify(bookRepository).findByAuthorId(authorId, pageable);
-  }
-
   @Test
   void findAll_ShouldReturnPageOfBooks() {
     // Given - Some books
-    Book book2 = createBaseBook("O Cortiço");
-    List<Book> books = Arrays.asList(testBook, book2);
-    Page<Book> bookPage = new PageImpl<>(books);
     Pageable pageable = PageRequest.of(0, 10);
 
-    BookDTO dto1 = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null);
-    BookDTO dto2 = new BookDTO(UUID.randomUUID(), book2.getTitle(), null, null, null, null, null, null, null);
+    BookDTO dto1 = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null, 0, null);
+    BookDTO dto2 = new BookDTO(UUID.randomUUID(), "O Cortiço", null, null, null, null, null, null, null, 0, null);
 
-    when(bookRepository.findAllWithGenres(pageable)).thenReturn(bookPage);
-    when(bookMapper.toDTO(testBook)).thenReturn(dto1);
-    when(bookMapper.toDTO(book2)).thenReturn(dto2);
+    when(bookRepository.findAllAsDTO(pageable)).thenReturn(new PageImpl<>(List.of(dto1, dto2)));
 
     // When
     Page<BookDTO> result = bookService.findAll(pageable);
@@ -210,7 +165,8 @@ class BookServiceTest {
     // Then
     assertEquals(2, result.getContent().size());
     assertEquals(testBook.getTitle(), result.getContent().get(0).title());
-    verify(bookRepository).findAllWithGenres(pageable);
+    verify(bookRepository).findAllAsDTO(pageable);
+    verifyNoInteractions(bookMapper);
   }
 
   // ========== SAVE TESTS ==========
@@ -243,7 +199,7 @@ class BookServiceTest {
         savedBook.getTitle(),
         savedBook.getSynopsis(),
         savedBook.getPageCount(),
-        null, null, null, null, null);
+        null, null, null, null, null, 0, null);
 
     // Mock the save
     when(bookRepository.save(any(Book.class))).thenReturn(savedBook);
@@ -428,7 +384,7 @@ class BookServiceTest {
         "Título Atualizado",
         updatedBook.getSynopsis(),
         300,
-        null, null, null, null, null);
+        null, null, null, null, null, 0, null);
     when(bookMapper.toDetailDTO(updatedBook)).thenReturn(expectedDTO);
 
     // When
@@ -490,7 +446,7 @@ class BookServiceTest {
         "Título Parcialmente Atualizado",
         "Synopsis Original",
         400,
-        null, null, "url-original.jpg", null, null);
+        null, null, "url-original.jpg", null, null, 0, null);
     when(bookMapper.toDetailDTO(any(Book.class))).thenReturn(expectedDTO);
 
     // When
@@ -581,7 +537,7 @@ class BookServiceTest {
         "Novo Título",
         null,
         null,
-        null, null, null, null, null);
+        null, null, null, null, null, 0, null);
     when(bookMapper.toDetailDTO(any(Book.class))).thenReturn(expectedDTO);
 
     // When
@@ -657,26 +613,277 @@ class BookServiceTest {
     verify(storageService, never()).deleteCover(any());
   }
 
-  // ========== SEARCH TESTS ==========
+  // ========== RATING TESTS ==========
+
+  @Test
+  void changeRating_ShouldRemovePreviousScoreAndAddCurrentOne() {
+    // Given
+    BigDecimal previous = new BigDecimal("2.5");
+    BigDecimal current = new BigDecimal("4.0");
+
+    when(bookRepository.updateRatings(eq(TEST_BOOK_ID), any(BigDecimal.class), anyInt())).thenReturn(1);
+
+    // When
+    bookService.changeRating(TEST_BOOK_ID, previous, current);
+
+    // Then
+    verify(bookRepository).updateRatings(TEST_BOOK_ID, previous, -1);
+    verify(bookRepository).updateRatings(TEST_BOOK_ID, current, 1);
+  }
+
+  @Test
+  void addRating_ShouldThrowException_WhenBookNotExists() {
+    // Given
+    BigDecimal score = new BigDecimal("3.0");
+
+    when(bookRepository.updateRatings(TEST_BOOK_ID, score, 1)).thenReturn(0);
+
+    // When & Then
+    assertThrows(ResourceNotFoundException.class, () -> bookService.addRating(TEST_BOOK_ID, score));
+  }
+
+  @Test
+  void reconcileRatings_ShouldRecomputeOnlyDriftedBooksStillPresent() {
+    // Given
+    UUID deletedId = UUID.randomUUID();
+
+    when(bookRepository.findIdsWithRatingDrift()).thenReturn(List.of(TEST_BOOK_ID, deletedId));
+    when(bookRepository.lockById(TEST_BOOK_ID)).thenReturn(Optional.of(TEST_BOOK_ID));
+    when(bookRepository.lockById(deletedId)).thenReturn(Optional.empty());
+
+    // When
+    List<UUID> result = bookService.reconcileRatings();
+
+    // Then
+    assertEquals(List.of(TEST_BOOK_ID, deletedId), result);
+    verify(bookRepository).recomputeRatings(TEST_BOOK_ID);
+    verify(bookRepository, never()).recomputeRatings(deletedId);
+  }
+
+  @Test
+  void findRatings_ShouldThrowException_WhenBookNotExists() {
+    // Given
+    when(bookRepository.findById(TEST_BOOK_ID)).thenReturn(Optional.empty());
+
+    // When & Then
+    assertThrows(ResourceNotFoundException.class, () -> bookService.findRatings(TEST_BOOK_ID));
+    verify(bookMapper, never()).toRatingsDTO(any());
+  }
+
+  // ========== FILTER TESTS ==========
 
   @Test
-  void searchBooks_ShouldReturnMatchingBooks() {
+  void findAll_ShouldUseProjection_WhenFilterIsEmpty() {
     // Given
-    String query = "romance";
-    List<Book> books = Arrays.asList(testBook);
-    Page<Book> bookPage = new PageImpl<>(books);
     Pageable pageable = PageRequest.of(0, 10);
+    BookFilterDTO filter = new BookFilterDTO(" ", null, null, null, null, "");
+
+    when(bookRepository.findAllAsDTO(pageable)).thenReturn(Page.empty());
 
-    BookDTO dto = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null);
+    // When
+    bookService.findAll(filter, pageable);
 
-    when(bookRepository.findByTitleOrSynopsisContaining(query, pageable)).thenReturn(bookPage);
+    // Then
+    verify(bookRepository).findAllAsDTO(pageable);
+    verify(bookRepository, never()).findBy(any(Specification.class), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void findAll_ShouldQuerySpecificationWithAuthorGraph_WhenFilterIsGiven() {
+    // Given
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+    BookFilterDTO filter = new BookFilterDTO("Dom", UUID.randomUUID(), null, null, null, null);
+    SpecificationFluentQuery<Book> query = mockFluentQuery();
+    BookDTO dto = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null, 0, null);
+
+    when(query.page(pageable)).thenReturn(new PageImpl<>(List.of(testBook)));
     when(bookMapper.toDTO(testBook)).thenReturn(dto);
 
     // When
-    Page<BookDTO> result = bookService.searchBooks(query, pageable);
+    Page<BookDTO> result = bookService.findAll(filter, pageable);
+
+    // Then
+    assertEquals(List.of(dto), result.getContent());
+    verify(query).project("author");
+    verify(bookRepository, never()).findAllAsDTO(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void findAll_ShouldIgnoreRequestedSort_WhenRankingByRelevance() {
+    // Given
+    BookFilterDTO filter = new BookFilterDTO(null, null, null, null, null, "romance");
+    SpecificationFluentQuery<Book> query = mockFluentQuery();
+
+    when(query.page(PageRequest.of(2, 10))).thenReturn(Page.empty());
+
+    // When
+    bookService.findAll(filter, PageRequest.of(2, 10, Sort.by("title")));
+
+    // Then
+    verify(query).page(PageRequest.of(2, 10));
+  }
+
+  @Test
+  void findAll_ShouldTakeTotalFromListingVersion_WithoutCounting() {
+    // Given
+    Pageable pageable = PageRequest.of(0, 2);
+    BookFilterDTO filter = new BookFilterDTO(null, null, null, null, null, null);
+    BookDTO dto = new BookDTO(testBook.getId(), testBook.getTitle(), null, null, null, null, null, null, null, 0, null);
+
+    when(bookRepository.findSliceAsDTO(pageable)).thenReturn(new SliceImpl<>(List.of(dto, dto), pageable, true));
+
+    // When
+    Page<BookDTO> result = bookService.findAll(filter, pageable, 42);
+
+    // Then
+    assertEquals(42, result.getTotalElements());
+    assertEquals(2, result.getContent().size());
+    verify(bookRepository, never()).findAllAsDTO(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void findAllSlice_ShouldSliceSpecification_WhenFilterIsGiven() {
+    // Given
+    Pageable pageable = PageRequest.of(0, 1);
+    BookFilterDTO filter = new BookFilterDTO(null, null, List.of(UUID.randomUUID()), 100, null, null);
+    SpecificationFluentQuery<Book> query = mockFluentQuery();
+
+    when(query.slice(pageable)).thenReturn(new SliceImpl<>(List.of(testBook), pageable, true));
+
+    // When
+    Slice<BookDTO> result = bookService.findAllSlice(filter, pageable);
+
+    // Then
+    assertTrue(result.hasNext());
+    verify(query, never()).page(any());
+    verify(bookRepository, never()).findSliceAsDTO(any());
+  }
+
+  @Test
+  void findAll_ShouldThrowException_WhenPageCountRangeIsInverted() {
+    // Given
+    BookFilterDTO filter = new BookFilterDTO(null, null, null, 300, 100, null);
+
+    // When & Then
+    IllegalArgumentException exception = assertThrows(
+      IllegalArgumentException.class,
+      () -> bookService.findAll(filter, PageRequest.of(0, 10))
+    );
+
+    assertEquals("Minimum page count must not exceed maximum page count", exception.getMessage());
+    verifyNoInteractions(bookRepository);
+  }
+
+  private static final BookFilterDTO NO_FILTER = new BookFilterDTO(null, null, null, null, null, null);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void findAllAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+    // Given
+    Book first = createBaseBook("A Moreninha");
+    Book second = createBaseBook("Dom Casmurro");
+    Book extra = createBaseBook("Iracema");
+
+    first.setId(UUID.randomUUID());
+    second.setId(UUID.randomUUID());
+    extra.setId(UUID.randomUUID());
+
+    when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second, extra));
+    when(bookMapper.toDTO(any(Book.class))).thenReturn(mock(BookDTO.class));
+
+    // When
+    CursorPageDTO<BookDTO> result = bookService.findAllAfter(NO_FILTER, "", PageRequest.of(0, 2, Sort.by("title")));
+
+    // Then
+    assertEquals(2, result.content().size());
+    assertTrue(result.hasNext());
+    assertEquals(
+      Map.of("title", "Dom Casmurro", "id", second.getId().toString()),
+      cursorMapper.fromCursor(result.nextCursor())
+    );
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void findAllAfter_ShouldNotReturnCursor_WhenLastPage() {
+    // Given
+    String after = cursorMapper.toCursor(Map.of("title", "Dom Casmurro", "id", TEST_BOOK_ID));
+
+    when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBook));
+    when(bookMapper.toDTO(testBook)).thenReturn(mock(BookDTO.class));
+
+    // When
+    CursorPageDTO<BookDTO> result = bookService.findAllAfter(NO_FILTER, after, PageRequest.of(0, 10, Sort.by("title")));
 
     // Then
-    assertEquals(1, result.getContent().size());
-    verify(bookRepository).findByTitleOrSynopsisContaining(query, pageable);
+    assertEquals(1, result.content().size());
+    assertFalse(result.hasNext());
+    assertNull(result.nextCursor());
+  }
+
+  @Test
+  void findAllAfter_ShouldThrowException_WhenCursorIsMalformed() {
+    // When & Then
+    IllegalArgumentException exception = assertThrows(
+      IllegalArgumentException.class,
+      () -> bookService.findAllAfter(NO_FILTER, "not a cursor", PageRequest.of(0, 10, Sort.by("title")))
+    );
+
+    assertEquals("Invalid cursor", exception.getMessage());
+    verifyNoInteractions(bookRepository);
+  }
+
+  @Test
+  void findAllAfter_ShouldThrowException_WhenCursorDoesNotMatchSort() {
+    // Given
+    String after = cursorMapper.toCursor(Map.of("title", "Dom Casmurro", "id", TEST_BOOK_ID));
+
+    // When & Then
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> bookService.findAllAfter(NO_FILTER, after, PageRequest.of(0, 10, Sort.by("createdAt")))
+    );
+
+    verifyNoInteractions(bookRepository);
+  }
+
+  @Test
+  void findAllAfter_ShouldThrowException_WhenSortPropertyIsNotSupported() {
+    // When & Then
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> bookService.findAllAfter(NO_FILTER, "", PageRequest.of(0, 10, Sort.by("synopsis")))
+    );
+
+    verifyNoInteractions(bookRepository);
+  }
+
+  @Test
+  void findAllAfter_ShouldThrowException_WhenPageCountRangeIsInverted() {
+    // Given
+    BookFilterDTO filter = new BookFilterDTO(null, null, null, 300, 100, null);
+
+    // When & Then
+    IllegalArgumentException exception = assertThrows(
+      IllegalArgumentException.class,
+      () -> bookService.findAllAfter(filter, "", PageRequest.of(0, 10, Sort.by("title")))
+    );
+
+    assertEquals("Minimum page count must not exceed maximum page count", exception.getMessage());
+    verifyNoInteractions(bookRepository);
+  }
+
+  @SuppressWarnings("unchecked")
+  private SpecificationFluentQuery<Book> mockFluentQuery() {
+    SpecificationFluentQuery<Book> query = mock(SpecificationFluentQuery.class);
+
+    when(query.project("author")).thenReturn(query);
+    when(bookRepository.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+      ((Function<SpecificationFluentQuery<Book>, ?>) invocation.getArgument(1)).apply(query));
+
+    return query;
   }
 }
\ No newline at end of file
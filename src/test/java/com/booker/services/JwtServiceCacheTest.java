@@ -0,0 +1,86 @@
+package com.booker.services;
+
+import java.util.UUID;
+
+import io.jsonwebtoken.security.SignatureException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.booker.config.CacheConfig;
+import com.booker.config.security.RejectedTokenException;
+import com.booker.config.security.TokenClaims;
+import com.booker.config.security.UserAccount;
+import com.booker.models.User;
+import com.booker.models.enums.Role;
+
+import static com.booker.constants.Caches.REJECTED_TOKENS;
+import static com.booker.constants.Caches.VERIFIED_TOKENS;
+
+@SpringJUnitConfig({ CacheConfig.class, JwtService.class })
+@TestPropertySource(locations = "classpath:cache-test.properties", properties = {
+  "jwt.secret=0123456789abcdef0123456789abcdef0123",
+  "jwt.access-token.expiration=3600000",
+  "jwt.refresh-token.expiration=604800000"
+})
+class JwtServiceCacheTest {
+  @Autowired
+  private JwtService jwtService;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(VERIFIED_TOKENS).clear();
+    cacheManager.getCache(REJECTED_TOKENS).clear();
+
+    User user = new User();
+
+    user.setId(UUID.randomUUID());
+    user.setUsername("bentinho");
+    user.setEmail("bentinho@example.com");
+    user.setRole(Role.USER);
+
+    token = jwtService.generateAccessToken(UserAccount.from(user));
+  }
+
+  @Test
+  void verify_ShouldParseOnce_WhenTokenIsReused() {
+    // When
+    TokenClaims first = jwtService.verify(token);
+    TokenClaims second = jwtService.verify(token);
+
+    // Then
+    assertSame(first, second);
+    assertEquals("bentinho", first.username());
+    assertTrue(first.isAccessToken());
+  }
+
+  @Test
+  void verify_ShouldRejectReplayedBadToken_WithoutParsingIt() {
+    // Given
+    String forged = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+    // When & Then
+    assertThrows(SignatureException.class, () -> jwtService.verify(forged));
+    assertThrows(RejectedTokenException.class, () -> jwtService.verify(forged));
+    assertSame(jwtService.verify(token), jwtService.verify(token));
+  }
+
+  @Test
+  void verify_ShouldRejectReplayedBlankToken_WithoutParsingIt() {
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> jwtService.verify(" "));
+    assertThrows(RejectedTokenException.class, () -> jwtService.verify(" "));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.booker.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.booker.repositories.ReviewRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewLikeCounterTest {
+  @Mock
+  private ReviewRepository repository;
+
+  @InjectMocks
+  private ReviewLikeCounter counter;
+
+  private final UUID REVIEW_ID = UUID.randomUUID();
+  private final UUID OTHER_REVIEW_ID = UUID.randomUUID();
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive())
+      TransactionSynchronizationManager.clearSynchronization();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<UUID> recounted() {
+    ArgumentCaptor<List<UUID>> batch = ArgumentCaptor.forClass(List.class);
+
+    verify(repository).recountLikes(batch.capture());
+
+    return batch.getValue();
+  }
+
+  // ========== FLUSH TESTS ==========
+
+  @Test
+  void flush_ShouldRecountEachChangedReviewOnce_AndForgetIt() {
+    // Given
+    counter.markChanged(REVIEW_ID);
+    counter.markChanged(REVIEW_ID);
+    counter.markChanged(OTHER_REVIEW_ID);
+
+    // When
+    counter.flush();
+    counter.flush();
+
+    // Then
+    assertEquals(2, recounted().size());
+    assertTrue(recounted().containsAll(List.of(REVIEW_ID, OTHER_REVIEW_ID)));
+    verifyNoMoreInteractions(repository);
+  }
+
+  @Test
+  void flush_ShouldKeepReviewsForNextFlush_WhenRecountFails() {
+    // Given
+    counter.markChanged(REVIEW_ID);
+    doThrow(new QueryTimeoutException("timeout")).doNothing().when(repository).recountLikes(anyList());
+
+    // When
+    counter.flush();
+    counter.flush();
+
+    // Then
+    verify(repository, times(2)).recountLikes(List.of(REVIEW_ID));
+  }
+
+  @Test
+  void markChanged_ShouldTakeEffect_OnlyAfterCommit() {
+    // Given
+    TransactionSynchronizationManager.initSynchronization();
+    counter.markChanged(REVIEW_ID);
+
+    // When - flushed before the like row commits
+    counter.flush();
+
+    // Then
+    verifyNoInteractions(repository);
+
+    // When - committed
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    counter.flush();
+
+    // Then
+    verify(repository).recountLikes(List.of(REVIEW_ID));
+  }
+
+  @Test
+  void markLikedBy_ShouldMarkEveryReviewTheUserLiked() {
+    // Given
+    UUID userId = UUID.randomUUID();
+
+    when(repository.findLikedReviewIds(userId)).thenReturn(List.of(REVIEW_ID));
+
+    // When
+    counter.markLikedBy(userId);
+    counter.flush();
+
+    // Then
+    verify(repository).recountLikes(List.of(REVIEW_ID));
+  }
+
+  // ========== RECONCILIATION TESTS ==========
+
+  @Test
+  void reconcile_ShouldRecountDriftedReviews_AndSkipWrite_WhenNoneDrifted() {
+    // Given
+    when(repository.findIdsWithLikeCountDrift()).thenReturn(List.of(REVIEW_ID), List.of());
+
+    // When
+    List<UUID> first = counter.reconcile();
+    List<UUID> second = counter.reconcile();
+
+    // Then
+    assertEquals(List.of(REVIEW_ID), first);
+    assertTrue(second.isEmpty());
+    verify(repository, times(1)).recountLikes(List.of(REVIEW_ID));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.booker.services;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.booker.DTO.User.UpdatePasswordDTO;
+import com.booker.DTO.User.UpdateUserDTO;
+import com.booker.config.CacheConfig;
+import com.booker.config.security.UserAccount;
+import com.booker.models.User;
+import com.booker.repositories.UserRepository;
+
+import static com.booker.constants.Caches.USER_DETAILS;
+
+// Class-based proxies, as Spring Boot configures them, since UserService implements UserDetailsService
+@SpringJUnitConfig({ CacheConfig.class, UserService.class, UserServiceCacheTest.ClassProxies.class })
+@TestPropertySource(locations = "classpath:cache-test.properties")
+class UserServiceCacheTest {
+  @EnableAspectJAutoProxy(proxyTargetClass = true)
+  static class ClassProxies {}
+
+  @MockitoBean
+  private UserRepository repository;
+
+  @MockitoBean
+  private PasswordEncoder passwordEncoder;
+
+  @MockitoBean
+  private BookService bookService;
+
+  @MockitoBean
+  private ReviewLikeCounter likeCounter;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private final UUID USER_ID = UUID.randomUUID();
+
+  private final User user = new User();
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(USER_DETAILS).clear();
+
+    user.setId(USER_ID);
+    user.setUsername("bentinho");
+    user.setEmail("bentinho@example.com");
+
+    when(repository.findById(USER_ID)).thenReturn(Optional.of(user));
+    when(repository.findByUsernameOrEmail("bentinho")).thenReturn(Optional.of(user));
+    when(repository.findByUsernameOrEmail("bentinho@example.com")).thenReturn(Optional.of(user));
+  }
+
+  @Test
+  void loadUserByUsername_ShouldHitDatabaseOnce_PerUsernameOrEmail() {
+    // When
+    UserAccount byUsername = userService.loadUserByUsername("bentinho");
+    UserAccount again = userService.loadUserByUsername("bentinho");
+    UserAccount byEmail = userService.loadUserByUsername("bentinho@example.com");
+    userService.loadUserByUsername("bentinho@example.com");
+
+    // Then
+    assertSame(byUsername, again);
+    assertEquals(UserAccount.from(user), byUsername);
+    assertEquals(UserAccount.from(user), byEmail);
+    verify(repository, times(1)).findByUsernameOrEmail("bentinho");
+    verify(repository, times(1)).findByUsernameOrEmail("bentinho@example.com");
+  }
+
+  @Test
+  void loadUserByUsername_ShouldCacheSnapshot_NotTheManagedEntity() {
+    // Given
+    userService.loadUserByUsername("bentinho");
+
+    // When - The entity changes without going through UserService
+    user.setPassword("changed");
+
+    // Then
+    Object cached = cacheManager.getCache(USER_DETAILS).get("bentinho").get();
+
+    assertInstanceOf(UserAccount.class, cached);
+    assertNotSame(user, cached);
+    assertNull(((UserAccount) cached).password());
+  }
+
+  @Test
+  void update_ShouldEvictCachedUser_UnderUsernameAndEmail() {
+    // Given
+    userService.loadUserByUsername("bentinho");
+    userService.loadUserByUsername("bentinho@example.com");
+
+    // When
+    userService.update(USER_ID, new UpdateUserDTO("Bento", null, null, null));
+
+    // Then
+    assertNull(cacheManager.getCache(USER_DETAILS).get("bentinho"));
+    assertNull(cacheManager.getCache(USER_DETAILS).get("bentinho@example.com"));
+  }
+
+  @Test
+  void updatePassword_ShouldEvictCachedUser_OnceTheNewHashIsWritten() {
+    // Given
+    user.setPassword("old-hash");
+    userService.loadUserByUsername("bentinho");
+
+    when(passwordEncoder.matches("old", "old-hash")).thenReturn(true);
+    when(passwordEncoder.encode("new")).thenReturn("new-hash");
+    when(repository.updatePassword(USER_ID, "old-hash", "new-hash")).thenReturn(1);
+
+    // When
+    userService.updatePassword(USER_ID, new UpdatePasswordDTO("old", "new"));
+
+    // Then
+    assertNull(cacheManager.getCache(USER_DETAILS).get("bentinho"));
+    verify(repository).updatePassword(USER_ID, "old-hash", "new-hash");
+  }
+
+  @Test
+  void updatePassword_ShouldThrowException_WhenPasswordChangedSinceItWasChecked() {
+    // Given
+    user.setPassword("old-hash");
+
+    when(passwordEncoder.matches("old", "old-hash")).thenReturn(true);
+    when(passwordEncoder.encode("new")).thenReturn("new-hash");
+    when(repository.updatePassword(USER_ID, "old-hash", "new-hash")).thenReturn(0);
+
+    // When & Then
+    assertThrows(IllegalArgumentException.class,
+      () -> userService.updatePassword(USER_ID, new UpdatePasswordDTO("old", "new")));
+  }
+
+  @Test
+  void delete_ShouldEvictCachedUser() {
+    // Given
+    userService.loadUserByUsername("bentinho");
+
+    // When
+    userService.delete(USER_ID);
+
+    // Then
+    assertNull(cacheManager.getCache(USER_DETAILS).get("bentinho"));
+    verify(repository).delete(user);
+  }
+}
\ No newline at end of file